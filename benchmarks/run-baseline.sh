@@ -0,0 +1,12 @@
+#!/bin/sh
+# Records a baseline of every benchmark into baseline/<commit>.json and
+# baseline/<commit>.txt, with the allocation per operation from -prof gc.
+#
+# Usage: ./run-baseline.sh [extra JMH options, e.g. -f 3 or a benchmark regex]
+set -e
+cd "$(dirname "$0")"
+(cd .. && mvn -B -q -DskipTests install)
+mvn -B -q package
+commit=$(git rev-parse --short HEAD)
+mkdir -p baseline
+java -jar target/benchmarks.jar -prof gc -rf json -rff "baseline/$commit.json" "$@" | tee "baseline/$commit.txt"
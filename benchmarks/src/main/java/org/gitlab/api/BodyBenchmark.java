@@ -0,0 +1,61 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the {@link Body} of an issue update and serializing it
+ * into the bytes of the request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BodyBenchmark {
+    private List<Integer> assigneeIds;
+    private List<String> labels;
+    private String description;
+    private LocalDate dueDate;
+
+    @Setup
+    public void setup() {
+        assigneeIds = Arrays.asList(7_000_001, 7_000_002);
+        labels = Arrays.asList("bug", "needs review", "priority::1");
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            builder.append("The cache is not invalidated when the issue is closed from a merge request. ");
+        }
+        description = builder.toString();
+        dueDate = LocalDate.of(2020, 12, 31);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        Body body = new Body()
+                .putString("title", "Fix the cache when issue is closed")
+                .putString("description", description)
+                .putIntArray("assignee_ids", assigneeIds)
+                .putStringArray("labels", labels)
+                .putDate("due_date", dueDate)
+                .putBoolean("confidential", false)
+                .putInt("weight", 3);
+        return JsonUtil.writerFor(Map.class).writeValueAsBytes(body.getMap());
+    }
+}
@@ -0,0 +1,145 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the timestamp deserializers of {@link DateUtil} on the two
+ * formats GitLab sends, against the {@link ZonedDateTime#parse(CharSequence)}
+ * they replace. Every score is per timestamp.
+ *
+ * The setup checks that both give equal timestamps with the same zone on a
+ * sample of generated timestamps, so a run also proves parity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DateBenchmark {
+    private static final int TIMESTAMPS = 100;
+
+    private ObjectReader zonedReader;
+    private ObjectReader offsetReader;
+    private ObjectReader baselineReader;
+    private byte[] zoned;
+    private byte[] offset;
+
+    @Setup
+    public void setup() {
+        zonedReader = JsonUtil.readerFor(Zoned[].class);
+        offsetReader = JsonUtil.readerFor(Offset[].class);
+        baselineReader = JsonUtil.readerFor(Baseline[].class);
+        zoned = timestamps("2020-12-14T01:34:24.852Z");
+        offset = timestamps("2020-12-02T04:06:57.000+05:30");
+        checkParity();
+    }
+
+    /**
+     * Checks that the fast path and {@link ZonedDateTime#parse(CharSequence)}
+     * agree on timestamps of both formats across years, fractions and offsets.
+     */
+    private static void checkParity() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDateTime local = LocalDateTime.of(1970 + random.nextInt(100), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60), random.nextInt(60),
+                    random.nextInt(1_000_000_000));
+            ZoneOffset zoneOffset = ZoneOffset.ofTotalSeconds((random.nextInt(4 * 28 + 1) - 4 * 14) * 15 * 60);
+            String text = random.nextBoolean() ?
+                    ZonedDateTime.of(local, ZoneOffset.UTC).format(DateUtil.DATE_TIME_ZONED_FORMATTER) :
+                    ZonedDateTime.of(local, zoneOffset).format(DateUtil.DATE_TIME_OFFSET_FORMATTER);
+            ZonedDateTime expected = ZonedDateTime.parse(text);
+            ZonedDateTime actual = DateUtil.parseTimestamp(text.toCharArray(), 0, text.length());
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Fast path parsed " + text + " as " + actual
+                        + " instead of " + expected);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public Zoned[] zoned() throws IOException {
+        return zonedReader.readValue(zoned);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public Offset[] offset() throws IOException {
+        return offsetReader.readValue(offset);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public Baseline[] zonedBaseline() throws IOException {
+        return baselineReader.readValue(zoned);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TIMESTAMPS)
+    public Baseline[] offsetBaseline() throws IOException {
+        return baselineReader.readValue(offset);
+    }
+
+    private static byte[] timestamps(String timestamp) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < TIMESTAMPS; i++) {
+            builder.append(i == 0 ? "" : ",").append("{\"at\":\"").append(timestamp).append("\"}");
+        }
+        return builder.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static class Zoned {
+        @JsonProperty("at")
+        @JsonDeserialize(using = DateUtil.ZonedDeserializer.class)
+        public ZonedDateTime at;
+    }
+
+    public static class Offset {
+        @JsonProperty("at")
+        @JsonDeserialize(using = DateUtil.OffsetDeserializer.class)
+        public ZonedDateTime at;
+    }
+
+    public static class Baseline {
+        @JsonProperty("at")
+        @JsonDeserialize(using = ParseDeserializer.class)
+        public ZonedDateTime at;
+    }
+
+    /**
+     * The deserializer the fast path replaced.
+     */
+    public static class ParseDeserializer extends JsonDeserializer<ZonedDateTime> {
+        @Override
+        public ZonedDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            return ZonedDateTime.parse(jsonParser.getText());
+        }
+    }
+}
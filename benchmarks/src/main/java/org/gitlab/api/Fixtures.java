@@ -0,0 +1,370 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The JSON pages the benchmarks parse.
+ *
+ * A recorded page is used when {@code fixtures/<name>.json} is on the
+ * classpath, e.g. a response of {@code GET /projects/:id/issues?per_page=100}
+ * saved to {@code src/main/resources/fixtures/issues.json}. Otherwise a page
+ * of the same shape is generated from a fixed seed, including the fields
+ * GitLab sends but the library ignores, so every run parses identical bytes.
+ */
+final class Fixtures {
+    /**
+     * The number of entities in a page, the maximum {@code per_page} of GitLab
+     */
+    static final int PAGE_SIZE = 100;
+    /**
+     * The instant the generated timestamps count back from
+     */
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2020, 12, 14, 1, 34, 24, 852_000_000, ZoneOffset.UTC);
+    /**
+     * The words the generated texts are made of
+     */
+    private static final String[] WORDS = {"pipeline", "merge", "request", "fix", "the", "cache", "when", "issue",
+            "is", "closed", "add", "support", "for", "project", "labels", "update", "docs", "and", "tests", "api"};
+
+    /**
+     * This class is not instantiatable
+     */
+    private Fixtures() {
+    }
+
+    /**
+     * Returns the page of the given name, one of {@code issues},
+     * {@code merge_requests}, {@code commits}, {@code branches} or
+     * {@code projects}.
+     *
+     * @param name the name of the page
+     * @return the JSON bytes of the page
+     */
+    static byte[] page(String name) {
+        try (InputStream recorded = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+            if (recorded != null) {
+                return IOUtils.toByteArray(recorded);
+            }
+            return join(entities(name, PAGE_SIZE), 0, PAGE_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the array type the page of the given name is parsed into.
+     *
+     * @param name the name of the page
+     * @return the array type of the page
+     */
+    @SuppressWarnings("unchecked")
+    static Class<GitlabComponent[]> type(String name) {
+        switch (name) {
+            case "issues":
+                return (Class<GitlabComponent[]>) (Class<?>) GitlabIssue[].class;
+            case "merge_requests":
+                return (Class<GitlabComponent[]>) (Class<?>) GitlabMergeRequest[].class;
+            case "commits":
+                return (Class<GitlabComponent[]>) (Class<?>) GitlabCommit[].class;
+            case "branches":
+                return (Class<GitlabComponent[]>) (Class<?>) GitlabBranch[].class;
+            case "projects":
+                return (Class<GitlabComponent[]>) (Class<?>) GitlabProject[].class;
+            default:
+                throw new IllegalArgumentException("Unknown fixture: " + name);
+        }
+    }
+
+    /**
+     * Generates the given number of entities of the page of the given name,
+     * each as its own JSON object, newest first as GitLab lists them.
+     *
+     * @param name  the name of the page
+     * @param count the number of entities
+     * @return the JSON bytes of every entity
+     */
+    static List<byte[]> entities(String name, int count) {
+        Random random = new Random(name.hashCode());
+        List<byte[]> entities = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                try (JsonGenerator json = JsonUtil.MAPPER.getFactory().createGenerator(out)) {
+                    switch (name) {
+                        case "issues":
+                            writeIssue(json, random, count - i, false);
+                            break;
+                        case "merge_requests":
+                            writeIssue(json, random, count - i, true);
+                            break;
+                        case "commits":
+                            writeCommit(json, random);
+                            break;
+                        case "branches":
+                            writeBranch(json, random, i);
+                            break;
+                        case "projects":
+                            writeProject(json, random, i);
+                            break;
+                        default:
+                            throw new IllegalArgumentException("Unknown fixture: " + name);
+                    }
+                }
+                entities.add(out.toByteArray());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return entities;
+    }
+
+    /**
+     * Joins the entities in the given range into a JSON array.
+     *
+     * @param entities the JSON bytes of the entities
+     * @param from     the index of the first entity, inclusive
+     * @param to       the index of the last entity, exclusive
+     * @return the JSON bytes of the array
+     */
+    static byte[] join(List<byte[]> entities, int from, int to) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = from; i < to; i++) {
+            if (i > from) {
+                out.write(',');
+            }
+            byte[] entity = entities.get(i);
+            out.write(entity, 0, entity.length);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static void writeIssue(JsonGenerator json, Random random, int iid, boolean mergeRequest) throws IOException {
+        boolean closed = random.nextInt(3) == 0;
+        json.writeStartObject();
+        json.writeNumberField("id", 70_000_000 + iid);
+        json.writeNumberField("iid", iid);
+        json.writeNumberField("project_id", 22_934_516);
+        json.writeStringField("title", text(random, 4 + random.nextInt(8)));
+        json.writeStringField("description", text(random, 20 + random.nextInt(200)));
+        json.writeStringField("state", closed ? (mergeRequest ? "merged" : "closed") : "opened");
+        json.writeStringField("created_at", zoned(random, 400));
+        json.writeStringField("updated_at", zoned(random, 30));
+        if (closed) {
+            json.writeStringField("closed_at", zoned(random, 30));
+            json.writeFieldName("closed_by");
+            writeUser(json, random);
+        } else {
+            json.writeNullField("closed_at");
+            json.writeNullField("closed_by");
+        }
+        json.writeArrayFieldStart("labels");
+        for (int l = random.nextInt(4); l > 0; l--) {
+            json.writeString(WORDS[random.nextInt(WORDS.length)]);
+        }
+        json.writeEndArray();
+        json.writeNullField("milestone");
+        json.writeFieldName("author");
+        writeUser(json, random);
+        json.writeArrayFieldStart("assignees");
+        for (int a = random.nextInt(3); a > 0; a--) {
+            writeUser(json, random);
+        }
+        json.writeEndArray();
+        json.writeNumberField("user_notes_count", random.nextInt(20));
+        json.writeNumberField("upvotes", random.nextInt(5));
+        json.writeNumberField("downvotes", random.nextInt(2));
+        json.writeBooleanField("subscribed", random.nextBoolean());
+        json.writeStringField("web_url", "https://gitlab.com/group/project/-/"
+                + (mergeRequest ? "merge_requests/" : "issues/") + iid);
+        if (mergeRequest) {
+            json.writeStringField("source_branch", "feature-" + iid);
+            json.writeStringField("target_branch", "master");
+            json.writeStringField("merge_status", "can_be_merged");
+            json.writeStringField("sha", sha(random));
+            json.writeBooleanField("work_in_progress", false);
+            json.writeBooleanField("squash", random.nextBoolean());
+        } else {
+            json.writeNumberField("merge_requests_count", random.nextInt(3));
+            json.writeNullField("due_date");
+            json.writeBooleanField("confidential", false);
+            json.writeBooleanField("has_tasks", random.nextBoolean());
+            json.writeNullField("epic_id");
+        }
+        json.writeObjectFieldStart("time_stats");
+        json.writeNumberField("time_estimate", 0);
+        json.writeNumberField("total_time_spent", 0);
+        json.writeNullField("human_time_estimate");
+        json.writeNullField("human_total_time_spent");
+        json.writeEndObject();
+        json.writeObjectFieldStart("references");
+        json.writeStringField("short", (mergeRequest ? "!" : "#") + iid);
+        json.writeStringField("relative", (mergeRequest ? "!" : "#") + iid);
+        json.writeStringField("full", "group/project" + (mergeRequest ? "!" : "#") + iid);
+        json.writeEndObject();
+        json.writeObjectFieldStart("_links");
+        json.writeStringField("self", "https://gitlab.com/api/v4/projects/22934516/issues/" + iid);
+        json.writeStringField("notes", "https://gitlab.com/api/v4/projects/22934516/issues/" + iid + "/notes");
+        json.writeStringField("project", "https://gitlab.com/api/v4/projects/22934516");
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void writeCommit(JsonGenerator json, Random random) throws IOException {
+        String sha = sha(random);
+        String author = "user" + random.nextInt(50);
+        String title = text(random, 4 + random.nextInt(8));
+        String date = offset(random, 400);
+        json.writeStartObject();
+        json.writeStringField("id", sha);
+        json.writeStringField("short_id", sha.substring(0, 8));
+        json.writeStringField("created_at", date);
+        json.writeArrayFieldStart("parent_ids");
+        json.writeString(sha(random));
+        json.writeEndArray();
+        json.writeStringField("title", title);
+        json.writeStringField("message", title + "\n\n" + text(random, 10 + random.nextInt(80)) + "\n");
+        json.writeStringField("author_name", author);
+        json.writeStringField("author_email", author + "@example.com");
+        json.writeStringField("authored_date", date);
+        json.writeStringField("committer_name", author);
+        json.writeStringField("committer_email", author + "@example.com");
+        json.writeStringField("committed_date", date);
+        json.writeStringField("web_url", "https://gitlab.com/group/project/-/commit/" + sha);
+        json.writeEndObject();
+    }
+
+    private static void writeBranch(JsonGenerator json, Random random, int i) throws IOException {
+        String name = i == 0 ? "master" : "feature-" + i;
+        json.writeStartObject();
+        json.writeStringField("name", name);
+        json.writeFieldName("commit");
+        writeCommit(json, random);
+        json.writeBooleanField("merged", false);
+        json.writeBooleanField("protected", i == 0);
+        json.writeBooleanField("developers_can_push", false);
+        json.writeBooleanField("developers_can_merge", false);
+        json.writeBooleanField("can_push", true);
+        json.writeBooleanField("default", i == 0);
+        json.writeStringField("web_url", "https://gitlab.com/group/project/-/tree/" + name);
+        json.writeEndObject();
+    }
+
+    private static void writeProject(JsonGenerator json, Random random, int i) throws IOException {
+        int id = 22_934_516 + i;
+        String path = "project-" + id;
+        json.writeStartObject();
+        json.writeNumberField("id", id);
+        json.writeStringField("description", text(random, 50 + random.nextInt(300)));
+        json.writeStringField("name", path);
+        json.writeStringField("name_with_namespace", "Group / " + path);
+        json.writeStringField("path", path);
+        json.writeStringField("path_with_namespace", "group/" + path);
+        json.writeStringField("created_at", zoned(random, 1000));
+        json.writeStringField("default_branch", "master");
+        json.writeArrayFieldStart("tag_list");
+        for (int t = random.nextInt(6); t > 0; t--) {
+            json.writeString(WORDS[random.nextInt(WORDS.length)]);
+        }
+        json.writeEndArray();
+        json.writeStringField("ssh_url_to_repo", "git@gitlab.com:group/" + path + ".git");
+        json.writeStringField("http_url_to_repo", "https://gitlab.com/group/" + path + ".git");
+        json.writeStringField("web_url", "https://gitlab.com/group/" + path);
+        json.writeStringField("readme_url", "https://gitlab.com/group/" + path + "/-/blob/master/README.md");
+        json.writeNumberField("forks_count", random.nextInt(100));
+        json.writeNumberField("star_count", random.nextInt(1000));
+        json.writeStringField("last_activity_at", zoned(random, 30));
+        json.writeObjectFieldStart("namespace");
+        json.writeNumberField("id", 10_000_000 + random.nextInt(1000));
+        json.writeStringField("name", "Group");
+        json.writeStringField("path", "group");
+        json.writeStringField("kind", "group");
+        json.writeStringField("full_path", "group");
+        json.writeEndObject();
+        json.writeFieldName("owner");
+        writeUser(json, random);
+        json.writeBooleanField("archived", false);
+        json.writeStringField("visibility", "public");
+        json.writeBooleanField("issues_enabled", true);
+        json.writeBooleanField("merge_requests_enabled", true);
+        json.writeBooleanField("wiki_enabled", true);
+        json.writeBooleanField("jobs_enabled", true);
+        json.writeBooleanField("snippets_enabled", true);
+        json.writeBooleanField("container_registry_enabled", true);
+        json.writeNumberField("creator_id", 7_000_000 + random.nextInt(1000));
+        json.writeNumberField("open_issues_count", random.nextInt(500));
+        json.writeBooleanField("public_jobs", true);
+        json.writeArrayFieldStart("shared_with_groups");
+        json.writeEndArray();
+        json.writeBooleanField("only_allow_merge_if_pipeline_succeeds", false);
+        json.writeStringField("merge_method", "merge");
+        json.writeObjectFieldStart("permissions");
+        json.writeObjectFieldStart("project_access");
+        json.writeNumberField("access_level", 40);
+        json.writeNumberField("notification_level", 3);
+        json.writeEndObject();
+        json.writeNullField("group_access");
+        json.writeEndObject();
+        json.writeObjectFieldStart("_links");
+        json.writeStringField("self", "https://gitlab.com/api/v4/projects/" + id);
+        json.writeStringField("issues", "https://gitlab.com/api/v4/projects/" + id + "/issues");
+        json.writeStringField("merge_requests", "https://gitlab.com/api/v4/projects/" + id + "/merge_requests");
+        json.writeStringField("repo_branches", "https://gitlab.com/api/v4/projects/" + id + "/repository/branches");
+        json.writeStringField("labels", "https://gitlab.com/api/v4/projects/" + id + "/labels");
+        json.writeStringField("events", "https://gitlab.com/api/v4/projects/" + id + "/events");
+        json.writeStringField("members", "https://gitlab.com/api/v4/projects/" + id + "/members");
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    private static void writeUser(JsonGenerator json, Random random) throws IOException {
+        int id = 7_000_000 + random.nextInt(50);
+        json.writeStartObject();
+        json.writeNumberField("id", id);
+        json.writeStringField("name", "User " + id);
+        json.writeStringField("username", "user" + id);
+        json.writeStringField("state", "active");
+        json.writeStringField("avatar_url", "https://secure.gravatar.com/avatar/" + id + "?s=80&d=identicon");
+        json.writeStringField("web_url", "https://gitlab.com/user" + id);
+        json.writeEndObject();
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder builder = new StringBuilder();
+        for (int w = 0; w < words; w++) {
+            if (w > 0) {
+                builder.append(' ');
+            }
+            builder.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return builder.toString();
+    }
+
+    private static String sha(Random random) {
+        return String.format("%016x%016x%08x", random.nextLong(), random.nextLong(), random.nextInt());
+    }
+
+    private static String zoned(Random random, int days) {
+        return NOW.minusSeconds(random.nextInt(days * 86_400))
+                .format(DateUtil.DATE_TIME_ZONED_FORMATTER.withZone(ZoneOffset.UTC))
+                .replace("Z", "." + (100 + random.nextInt(900)) + "Z");
+    }
+
+    private static String offset(Random random, int days) {
+        return NOW.minusSeconds(random.nextInt(days * 86_400))
+                .withZoneSameInstant(ZoneOffset.ofHours(random.nextInt(3) - 1))
+                .format(DateUtil.DATE_TIME_OFFSET_FORMATTER);
+    }
+}
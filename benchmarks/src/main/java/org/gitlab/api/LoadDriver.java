@@ -0,0 +1,289 @@
+package org.gitlab.api;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a {@link GitlabAPIClient} with N concurrent callers against a
+ * {@link MockGitlabServer} and reports the requests per second, the p50, p99
+ * and p99.9 latency of each operation, and the bytes allocated per request.
+ *
+ * Every caller issues blocking requests in a loop, picking one of the
+ * {@link Operation}s at random. Each operation is exactly one HTTP request.
+ * The results of the warmup are discarded. The allocation is measured on the
+ * caller threads only, so it covers building the request and parsing the
+ * response but not the threads of OkHttp or of an in-process server.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar org.gitlab.api.LoadDriver --callers 16 --seconds 30 --latency 20
+ * </pre>
+ *
+ * Options, all optional:
+ * <ul>
+ *     <li>{@code --callers} the number of concurrent callers, 8 by default</li>
+ *     <li>{@code --seconds} the length of the measurement, 30 by default</li>
+ *     <li>{@code --warmup} the length of the warmup in seconds, 10 by default</li>
+ *     <li>{@code --latency} the latency of the server in milliseconds, 0 by default</li>
+ *     <li>{@code --jitter} the largest random latency added in milliseconds, 0 by default</li>
+ *     <li>{@code --entities} the number of entities in each collection, 1000 by default</li>
+ *     <li>{@code --page-size} the page size of the list operations, 100 by default</li>
+ *     <li>{@code --endpoint} an already running server to use instead of starting one</li>
+ * </ul>
+ */
+public final class LoadDriver {
+    /**
+     * The operations a caller picks from
+     */
+    enum Operation {
+        GET_PROJECT,
+        GET_ISSUE,
+        GET_BRANCH,
+        LIST_ISSUES,
+        LIST_MERGE_REQUESTS,
+        LIST_COMMITS
+    }
+
+    private final GitlabAPIClient client;
+    private final int callers;
+    private final int entities;
+    private final int pageSize;
+
+    private LoadDriver(GitlabAPIClient client, int callers, int entities, int pageSize) {
+        this.client = client;
+        this.callers = callers;
+        this.entities = entities;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Runs the load test with the given options and prints the report.
+     *
+     * @param args the options
+     * @throws Exception if the server cannot be started or a caller fails
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int callers = Integer.parseInt(options.getOrDefault("callers", "8"));
+        int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        long latency = Long.parseLong(options.getOrDefault("latency", "0"));
+        long jitter = Long.parseLong(options.getOrDefault("jitter", "0"));
+        int entities = Integer.parseInt(options.getOrDefault("entities", "1000"));
+        int pageSize = Integer.parseInt(options.getOrDefault("page-size", "100"));
+
+        MockGitlabServer server = null;
+        String endpoint = options.get("endpoint");
+        if (endpoint == null) {
+            server = MockGitlabServer.start(entities, latency, jitter);
+            endpoint = server.getEndpoint();
+        }
+        try {
+            GitlabAPIClient client = new GitlabAPIClient.Builder(endpoint)
+                    .withMaxRequests(Math.max(64, callers), Math.max(5, callers))
+                    .build();
+            System.out.printf("callers=%d warmup=%ds seconds=%d latency=%dms jitter=%dms endpoint=%s%n",
+                    callers, warmup, seconds, latency, jitter, endpoint);
+            new LoadDriver(client, callers, entities, pageSize).run(warmup, seconds);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private void run(int warmupSeconds, int seconds) throws Exception {
+        GitlabProject project = client.getProject(1);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long measureTo = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+        List<Caller> running = new ArrayList<>(callers);
+        CountDownLatch done = new CountDownLatch(callers);
+        for (int i = 0; i < callers; i++) {
+            Caller caller = new Caller(project, measureFrom, measureTo, done);
+            running.add(caller);
+            Thread thread = new Thread(caller, "load-caller-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        report(running, seconds);
+    }
+
+    private void report(List<Caller> finished, int seconds) {
+        Map<Operation, Samples> byOperation = new EnumMap<>(Operation.class);
+        Samples all = new Samples();
+        long allocated = 0;
+        boolean allocationSupported = true;
+        for (Caller caller : finished) {
+            if (caller.failure != null) {
+                throw new IllegalStateException("A caller failed", caller.failure);
+            }
+            for (Map.Entry<Operation, Samples> entry : caller.samples.entrySet()) {
+                byOperation.computeIfAbsent(entry.getKey(), operation -> new Samples()).addAll(entry.getValue());
+                all.addAll(entry.getValue());
+            }
+            allocated += caller.allocatedBytes;
+            allocationSupported &= caller.allocatedBytes >= 0;
+        }
+        System.out.printf("%-20s %10s %10s %9s %9s %9s%n", "operation", "requests", "req/s", "p50 ms", "p99 ms",
+                "p99.9 ms");
+        for (Map.Entry<Operation, Samples> entry : byOperation.entrySet()) {
+            print(entry.getKey().name().toLowerCase(), entry.getValue(), seconds);
+        }
+        print("all", all, seconds);
+        if (allocationSupported && all.size > 0) {
+            System.out.printf("allocated per request on caller threads: %.1f KB%n", allocated / 1024.0 / all.size);
+        } else {
+            System.out.println("allocated per request on caller threads: not supported by this JVM");
+        }
+    }
+
+    private static void print(String name, Samples samples, int seconds) {
+        samples.sort();
+        System.out.printf("%-20s %10d %10.1f %9.2f %9.2f %9.2f%n", name, samples.size,
+                samples.size / (double) seconds, samples.percentileMillis(0.5), samples.percentileMillis(0.99),
+                samples.percentileMillis(0.999));
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --option value but got " + Arrays.toString(args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, or -1 if the
+     * JVM cannot tell.
+     */
+    private static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    /**
+     * A caller issuing requests until the end of the measurement.
+     */
+    private final class Caller implements Runnable {
+        private final GitlabProject project;
+        private final long measureFrom;
+        private final long measureTo;
+        private final CountDownLatch done;
+        private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        private long allocatedBytes;
+        private Throwable failure;
+
+        Caller(GitlabProject project, long measureFrom, long measureTo, CountDownLatch done) {
+            this.project = project;
+            this.measureFrom = measureFrom;
+            this.measureTo = measureTo;
+            this.done = done;
+        }
+
+        @Override
+        public void run() {
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                Operation[] operations = Operation.values();
+                long allocatedFrom = -1;
+                while (true) {
+                    long start = System.nanoTime();
+                    if (start >= measureTo) {
+                        break;
+                    }
+                    boolean measuring = start >= measureFrom;
+                    if (measuring && allocatedFrom < 0) {
+                        allocatedFrom = allocatedBytes();
+                    }
+                    Operation operation = operations[random.nextInt(operations.length)];
+                    execute(operation, random);
+                    if (measuring) {
+                        samples.computeIfAbsent(operation, key -> new Samples()).add(System.nanoTime() - start);
+                    }
+                }
+                allocatedBytes = allocatedFrom < 0 ? -1 : allocatedBytes() - allocatedFrom;
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private void execute(Operation operation, ThreadLocalRandom random) {
+            int page = 1 + random.nextInt((entities + pageSize - 1) / pageSize);
+            switch (operation) {
+                case GET_PROJECT:
+                    client.getProject(project.getId());
+                    break;
+                case GET_ISSUE:
+                    project.getIssue(1 + random.nextInt(entities));
+                    break;
+                case GET_BRANCH:
+                    project.getBranch("master");
+                    break;
+                case LIST_ISSUES:
+                    project.getIssuesQuery().withPagination(Pagination.of(page, pageSize)).query();
+                    break;
+                case LIST_MERGE_REQUESTS:
+                    project.getMergeRequestsQuery().withPagination(Pagination.of(page, pageSize)).query();
+                    break;
+                case LIST_COMMITS:
+                    project.getCommitsQuery().withPagination(Pagination.of(page, pageSize)).query();
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown operation: " + operation);
+            }
+        }
+    }
+
+    /**
+     * A growable array of latencies in nanoseconds.
+     */
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+
+        void add(long latency) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = latency;
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > nanos.length) {
+                nanos = Arrays.copyOf(nanos, Math.max(size + other.size, nanos.length * 2));
+            }
+            System.arraycopy(other.nanos, 0, nanos, size, other.size);
+            size += other.size;
+        }
+
+        void sort() {
+            Arrays.sort(nanos, 0, size);
+        }
+
+        double percentileMillis(double percentile) {
+            if (size == 0) {
+                return Double.NaN;
+            }
+            int index = Math.min(size - 1, (int) Math.ceil(percentile * size) - 1);
+            return nanos[Math.max(0, index)] / 1e6;
+        }
+    }
+}
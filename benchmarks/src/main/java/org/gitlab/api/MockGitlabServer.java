@@ -0,0 +1,311 @@
+package org.gitlab.api;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local stand-in for the GitLab REST API serving canned responses, so the
+ * throughput of {@link GitlabAPIClient} can be measured without a network.
+ *
+ * It answers {@code GET} requests under {@code /api/v4} for projects, issues,
+ * merge requests, and repository commits and branches, both as collections and
+ * single entities. Collections are paginated with {@code page} and
+ * {@code per_page} and carry the {@code X-Page}, {@code X-Next-Page},
+ * {@code X-Total-Pages} and {@code Link} headers GitLab sends. Every response
+ * is delayed by the configured latency plus a uniformly random jitter. Every
+ * project id answers with the same data; the entities come from
+ * {@link Fixtures}.
+ *
+ * It can also be started on its own, so that the load driver and the server
+ * do not share a JVM:
+ * <pre>
+ * java -cp target/benchmarks.jar org.gitlab.api.MockGitlabServer [port] [entities] [latencyMillis] [jitterMillis]
+ * </pre>
+ */
+public final class MockGitlabServer implements Closeable {
+    /**
+     * The page size when a request has no {@code per_page}, as on GitLab
+     */
+    private static final int DEFAULT_PER_PAGE = 20;
+    /**
+     * The largest page size GitLab allows
+     */
+    private static final int MAX_PER_PAGE = 100;
+    /**
+     * The namespace every route is under
+     */
+    private static final String API_NAMESPACE = "/api/v4";
+    private static final Pattern PROJECT = Pattern.compile("/projects/[^/]+");
+    private static final Pattern PROJECT_COLLECTION =
+            Pattern.compile("/projects/[^/]+/(issues|merge_requests|repository/commits|repository/branches)");
+    private static final Pattern PROJECT_ENTITY =
+            Pattern.compile("/projects/[^/]+/(issues|merge_requests|repository/commits|repository/branches)/([^/]+)");
+    private static final byte[] NOT_FOUND = "{\"message\":\"404 Not found\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] NOT_ALLOWED =
+            "{\"message\":\"405 Method Not Allowed\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final AtomicLong requests = new AtomicLong();
+    /**
+     * The entities of each collection, keyed by the last path segment of the collection
+     */
+    private final Map<String, List<byte[]>> collections = new HashMap<>();
+    /**
+     * The indexes of the entities of each collection, keyed by the collection and then the id in the url
+     */
+    private final Map<String, Map<String, Integer>> indexes = new HashMap<>();
+
+    private MockGitlabServer(int port, int entities, long latencyMillis, long jitterMillis) throws IOException {
+        if (entities < 1 || latencyMillis < 0 || jitterMillis < 0) {
+            throw new IllegalArgumentException("cannot have non-positive entities or negative latency");
+        }
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        load("projects", entities, null);
+        load("issues", entities, "iid");
+        load("merge_requests", entities, "iid");
+        load("commits", entities, "id");
+        load("branches", entities, "name");
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "mock-gitlab-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(executor);
+        server.createContext(API_NAMESPACE, this::handle);
+        server.start();
+    }
+
+    /**
+     * Starts a server on a free port of the loopback address.
+     *
+     * @param entities      the number of entities in each collection
+     * @param latencyMillis the delay of every response in milliseconds
+     * @param jitterMillis  the largest random delay added to the latency in milliseconds
+     * @return the started server
+     * @throws IOException if the server cannot be bound
+     */
+    public static MockGitlabServer start(int entities, long latencyMillis, long jitterMillis) throws IOException {
+        enableNoDelay();
+        return new MockGitlabServer(0, entities, latencyMillis, jitterMillis);
+    }
+
+    /**
+     * Returns the endpoint to build a {@link GitlabAPIClient} with,
+     * e.g. {@code http://127.0.0.1:54321}.
+     *
+     * @return the endpoint of this server
+     */
+    public String getEndpoint() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    /**
+     * Returns the number of requests this server has answered.
+     *
+     * @return the number of requests answered
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * Stops the server.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void load(String collection, int count, String idField) {
+        List<byte[]> entities = Fixtures.entities(collection, count);
+        collections.put(collection, entities);
+        if (idField == null) {
+            return;
+        }
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < entities.size(); i++) {
+            try {
+                index.put(JsonUtil.MAPPER.readTree(entities.get(i)).get(idField).asText(), i);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        indexes.put(collection, index);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            delay();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, NOT_ALLOWED);
+                return;
+            }
+            URI uri = exchange.getRequestURI();
+            String path = uri.getRawPath().substring(API_NAMESPACE.length());
+            Matcher matcher;
+            if (path.equals("/projects")) {
+                sendPage(exchange, "projects", uri);
+            } else if (path.equals("/issues") || path.equals("/merge_requests")) {
+                sendPage(exchange, path.substring(1), uri);
+            } else if ((matcher = PROJECT_COLLECTION.matcher(path)).matches()) {
+                sendPage(exchange, collection(matcher.group(1)), uri);
+            } else if ((matcher = PROJECT_ENTITY.matcher(path)).matches()) {
+                String collection = collection(matcher.group(1));
+                Integer index = indexes.get(collection).get(matcher.group(2));
+                if (index == null) {
+                    send(exchange, 404, NOT_FOUND);
+                } else {
+                    send(exchange, 200, collections.get(collection).get(index));
+                }
+            } else if (PROJECT.matcher(path).matches()) {
+                send(exchange, 200, collections.get("projects").get(0));
+            } else {
+                send(exchange, 404, NOT_FOUND);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void delay() {
+        long millis = latencyMillis + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+        if (millis > 0) {
+            try {
+                TimeUnit.MILLISECONDS.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static String collection(String path) {
+        return path.startsWith("repository/") ? path.substring("repository/".length()) : path;
+    }
+
+    private void sendPage(HttpExchange exchange, String collection, URI uri) throws IOException {
+        List<byte[]> entities = collections.get(collection);
+        Map<String, String> params = parseQuery(uri.getRawQuery());
+        int perPage = Math.min(MAX_PER_PAGE, Math.max(1, parseInt(params.get("per_page"), DEFAULT_PER_PAGE)));
+        int page = Math.max(1, parseInt(params.get("page"), 1));
+        int totalPages = (entities.size() + perPage - 1) / perPage;
+        int from = Math.min(entities.size(), (page - 1) * perPage);
+        int to = Math.min(entities.size(), from + perPage);
+        exchange.getResponseHeaders().set("X-Page", String.valueOf(page));
+        exchange.getResponseHeaders().set("X-Per-Page", String.valueOf(perPage));
+        exchange.getResponseHeaders().set("X-Total", String.valueOf(entities.size()));
+        exchange.getResponseHeaders().set("X-Total-Pages", String.valueOf(totalPages));
+        exchange.getResponseHeaders().set("X-Prev-Page", page > 1 ? String.valueOf(page - 1) : "");
+        if (page < totalPages) {
+            exchange.getResponseHeaders().set("X-Next-Page", String.valueOf(page + 1));
+            params.put("page", String.valueOf(page + 1));
+            params.put("per_page", String.valueOf(perPage));
+            exchange.getResponseHeaders().set("Link", "<" + getEndpoint() + uri.getRawPath() + "?"
+                    + toQuery(params) + ">; rel=\"next\"");
+        } else {
+            exchange.getResponseHeaders().set("X-Next-Page", "");
+        }
+        send(exchange, 200, Fixtures.join(entities, from, to));
+    }
+
+    private static void send(HttpExchange exchange, int code, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> params = new LinkedHashMap<>();
+        if (query == null || query.isEmpty()) {
+            return params;
+        }
+        for (String param : query.split("&")) {
+            int equals = param.indexOf('=');
+            if (equals < 0) {
+                params.put(param, "");
+            } else {
+                params.put(param.substring(0, equals), param.substring(equals + 1));
+            }
+        }
+        return params;
+    }
+
+    private static String toQuery(Map<String, String> params) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            if (builder.length() > 0) {
+                builder.append('&');
+            }
+            builder.append(param.getKey()).append('=').append(param.getValue());
+        }
+        return builder.toString();
+    }
+
+    private static int parseInt(String value, int defaultValue) {
+        try {
+            return value == null ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Turns off Nagle's algorithm on the connections of the JDK server, which
+     * otherwise holds the body of a response back until the client acknowledges
+     * its headers and adds up to 40 ms to every request. The property is read
+     * once, when the first server is created, and is left alone if it was set
+     * on the command line.
+     */
+    private static void enableNoDelay() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Starts a server until the process is stopped.
+     *
+     * @param args the port, the number of entities, the latency and the jitter in milliseconds, all optional
+     * @throws IOException if the server cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int entities = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long latency = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        long jitter = args.length > 3 ? Long.parseLong(args[3]) : 0;
+        enableNoDelay();
+        MockGitlabServer server = new MockGitlabServer(port, entities, latency, jitter);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Serving " + entities + " entities per collection at " + server.getEndpoint());
+    }
+}
@@ -0,0 +1,93 @@
+package org.gitlab.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a page of 100 entities into {@link GitlabComponent}s the
+ * way a response is parsed by {@link HttpClient}.
+ *
+ * Every score is per entity, so running with {@code -prof gc} reports the
+ * bytes allocated per entity in {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+    @Param({"issues", "merge_requests", "commits", "projects"})
+    private String fixture;
+
+    private HttpClient httpClient;
+    private HttpClient lazyTextHttpClient;
+    private byte[] page;
+    private Class<GitlabComponent[]> type;
+    private FieldSelection selection;
+
+    @Setup
+    public void setup() {
+        httpClient = new GitlabAPIClient.Builder("http://localhost").build().getHttpClient();
+        lazyTextHttpClient = new GitlabAPIClient.Builder("http://localhost").withLazyText(true).build()
+                .getHttpClient();
+        page = Fixtures.page(fixture);
+        type = Fixtures.type(fixture);
+        selection = new FieldSelection("state", "labels", "updated_at");
+    }
+
+    /**
+     * Parses the page with the cached reader and attaches the client, as a
+     * list request does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.PAGE_SIZE)
+    public List<GitlabComponent> parsePage() {
+        return httpClient.createList(new ByteArrayInputStream(page), type);
+    }
+
+    /**
+     * Parses the page reading only the state, labels and update time (and
+     * the identifiers), as a query with {@code select(...)} does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.PAGE_SIZE)
+    public List<GitlabComponent> parsePageSelected() {
+        return httpClient.createList(new ByteArrayInputStream(page), type, selection);
+    }
+
+    /**
+     * Parses the page keeping the descriptions and commit messages as UTF-8
+     * bytes, as a client built with {@code withLazyText(true)} does.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.PAGE_SIZE)
+    public List<GitlabComponent> parsePageLazyText() {
+        return lazyTextHttpClient.createList(new ByteArrayInputStream(page), type);
+    }
+
+    /**
+     * Parses the page resolving a new reader from the mapper on every call,
+     * the baseline the cached reader is compared against.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Fixtures.PAGE_SIZE)
+    public GitlabComponent[] parsePageUncachedReader() throws IOException {
+        return JsonUtil.MAPPER.readerFor(type).readValue(page);
+    }
+}
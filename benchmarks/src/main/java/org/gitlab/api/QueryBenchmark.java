@@ -0,0 +1,65 @@
+package org.gitlab.api;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building the URL of a filtered issue query, from the first
+ * {@code with} call to the URL of a page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+    private HttpClient httpClient;
+    private List<String> labels;
+    private ZonedDateTime updatedAfter;
+
+    @Setup
+    public void setup() {
+        httpClient = new GitlabAPIClient.Builder("http://localhost").build().getHttpClient();
+        labels = Arrays.asList("bug", "needs review", "priority::1");
+        updatedAfter = ZonedDateTime.of(2020, 12, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    }
+
+    @Benchmark
+    public String entireUrl() {
+        return new GitlabIssue.Query(httpClient)
+                .withAuthorUsername("brookcui")
+                .withLabels(labels)
+                .withScope("all")
+                .withSearch("rate limit")
+                .withOrderBy("updated_at")
+                .withUpdatedAfter(updatedAfter)
+                .getEntireUrl();
+    }
+
+    @Benchmark
+    public String pageUrl() {
+        return new GitlabIssue.Query(httpClient)
+                .withAuthorUsername("brookcui")
+                .withLabels(labels)
+                .withScope("all")
+                .withSearch("rate limit")
+                .withOrderBy("updated_at")
+                .withUpdatedAfter(updatedAfter)
+                .getPageUrl(7);
+    }
+}
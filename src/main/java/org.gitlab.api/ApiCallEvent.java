@@ -0,0 +1,109 @@
+package org.gitlab.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The Java Flight Recorder event of one attempt of a HTTP request, spanning
+ * from sending the request to the end of handling the response.
+ *
+ * This class is only loaded through {@link FlightRecorderEvents}, which
+ * checks that the JVM has the {@code jdk.jfr} API.
+ */
+@Name("org.gitlab.api.ApiCall")
+@Label("GitLab API Call")
+@Description("An attempt of a HTTP request to the GitLab API")
+@Category({"GitLab", "API"})
+@StackTrace(false)
+final class ApiCallEvent extends Event {
+    /**
+     * The type of this event, which tells if a recording has enabled it
+     */
+    private static final EventType TYPE = EventType.getEventType(ApiCallEvent.class);
+
+    @Label("Method")
+    String method;
+
+    @Label("Endpoint")
+    @Description("The template of the url, e.g. /projects/{id}/issues")
+    String endpoint;
+
+    @Label("Status")
+    @Description("The status code of the response, or 0 if no response was received")
+    int status;
+
+    @Label("Bytes Received")
+    @DataAmount
+    long bytesReceived;
+
+    @Label("Queue Wait")
+    @Description("The time waiting for the rate limit before the request was sent")
+    @Timespan
+    long queueWait;
+
+    @Label("Network Time")
+    @Description("The time from sending the request to receiving the response headers")
+    @Timespan
+    long networkTime;
+
+    @Label("Deserialization Time")
+    @Description("The time spent reading and parsing the response body")
+    @Timespan
+    long deserializationTime;
+
+    @Label("Page")
+    @Description("The page number of a list request, or 0")
+    int page;
+
+    /**
+     * Tests if a recording has enabled this event.
+     *
+     * @return true if this event is enabled
+     */
+    static boolean isTypeEnabled() {
+        return TYPE.isEnabled();
+    }
+
+    /**
+     * Creates and begins an event.
+     *
+     * @return the event
+     */
+    static Object start() {
+        ApiCallEvent event = new ApiCallEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends and commits the given event with the given metrics, if it passes
+     * the threshold of the recording.
+     *
+     * @param event          the event returned by {@link #start()}
+     * @param metrics        the metrics of the request
+     * @param queueWaitNanos the time waiting for the rate limit in nanoseconds
+     * @param page           the page number, or 0
+     */
+    static void record(Object event, RequestMetrics metrics, long queueWaitNanos, int page) {
+        ApiCallEvent apiCall = (ApiCallEvent) event;
+        apiCall.end();
+        if (apiCall.shouldCommit()) {
+            apiCall.method = metrics.getMethod();
+            apiCall.endpoint = metrics.getEndpoint();
+            apiCall.status = metrics.getStatusCode();
+            apiCall.bytesReceived = metrics.getBytesReceived();
+            apiCall.queueWait = queueWaitNanos;
+            apiCall.networkTime = metrics.getTimeToFirstByteNanos();
+            apiCall.deserializationTime = metrics.getParseNanos();
+            apiCall.page = page;
+            apiCall.commit();
+        }
+    }
+}
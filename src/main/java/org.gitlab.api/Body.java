@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * This class is used to construct a HTTP request body in JSON format.
@@ -125,6 +126,15 @@ class Body {
         return Collections.unmodifiableMap(map);
     }
 
+    /**
+     * get the keys in the body
+     *
+     * @return the keys
+     */
+    Set<String> keySet() {
+        return Collections.unmodifiableSet(map.keySet());
+    }
+
     /**
      * The string representation of the body
      *
@@ -0,0 +1,203 @@
+package org.gitlab.api;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * This class applies the same operation to many issues or merge requests of
+ * a project, e.g. closing thousands of stale issues. Get an instance from
+ * {@link GitlabProject#bulkIssues(List)} or
+ * {@link GitlabProject#bulkMergeRequests(List)}.
+ *
+ * Each operation sends one request per internal id, with at most
+ * {@link #withConcurrency(int) concurrency} requests in flight, and blocks
+ * until all of them are done. A failure does not stop the others; every
+ * outcome is reported in the returned {@link BulkResult}. The requests go
+ * through the rate limit scheduling and retry policy of the client, see
+ * {@link GitlabAPIClient.Builder#withRateLimitScheduling(boolean)}.
+ */
+public final class BulkExecutor {
+    /**
+     * The default number of requests in flight.
+     */
+    private static final int DEFAULT_CONCURRENCY = 4;
+    /**
+     * The HTTP client helper.
+     */
+    private final HttpClient httpClient;
+    /**
+     * The tail url of the collection, e.g. /projects/1/issues.
+     */
+    private final String collectionUrl;
+    /**
+     * The internal ids to operate on.
+     */
+    private final List<Integer> iids;
+    /**
+     * The maximum number of requests in flight.
+     */
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Constructs the {@code BulkExecutor}.
+     *
+     * @param httpClient    the HTTP client helper
+     * @param collectionUrl the tail url of the collection, e.g. /projects/1/issues
+     * @param iids          the internal ids to operate on
+     */
+    BulkExecutor(HttpClient httpClient, String collectionUrl, List<Integer> iids) {
+        this.httpClient = httpClient;
+        this.collectionUrl = collectionUrl;
+        this.iids = new ArrayList<>(iids);
+    }
+
+    /**
+     * Sets the maximum number of requests in flight.
+     *
+     * @param concurrency the maximum number of requests in flight, 4 by default
+     * @return this {@link BulkExecutor}
+     * @throws IllegalArgumentException if concurrency is not positive
+     */
+    public BulkExecutor withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("cannot have non-positive concurrency");
+        }
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Closes every issue or merge request.
+     *
+     * @return the report of the operation
+     */
+    public BulkResult close() {
+        return put(new Body().putString("state_event", "close"));
+    }
+
+    /**
+     * Reopens every issue or merge request.
+     *
+     * @return the report of the operation
+     */
+    public BulkResult reopen() {
+        return put(new Body().putString("state_event", "reopen"));
+    }
+
+    /**
+     * Adds the given labels to every issue or merge request, keeping their
+     * other labels.
+     *
+     * @param labels the labels to add
+     * @return the report of the operation
+     */
+    public BulkResult addLabels(List<String> labels) {
+        return put(new Body().putStringArray("add_labels", labels));
+    }
+
+    /**
+     * Removes the given labels from every issue or merge request, keeping
+     * their other labels.
+     *
+     * @param labels the labels to remove
+     * @return the report of the operation
+     */
+    public BulkResult removeLabels(List<String> labels) {
+        return put(new Body().putStringArray("remove_labels", labels));
+    }
+
+    /**
+     * Sets the assignees of every issue or merge request.
+     *
+     * @param assignees the new assignees, empty to unassign all
+     * @return the report of the operation
+     */
+    public BulkResult assign(List<GitlabUser> assignees) {
+        return put(new Body().putIntArray("assignee_ids",
+                assignees.stream().mapToInt(GitlabUser::getId).toArray()));
+    }
+
+    /**
+     * Deletes every issue or merge request.
+     *
+     * @return the report of the operation
+     */
+    public BulkResult delete() {
+        return run(iid -> httpClient.deleteAsync(collectionUrl + "/" + iid));
+    }
+
+    /**
+     * Sends the given body to every issue or merge request.
+     *
+     * @param body the body of the PUT requests
+     * @return the report of the operation
+     */
+    private BulkResult put(Body body) {
+        return run(iid -> httpClient.putAsync(collectionUrl + "/" + iid, body));
+    }
+
+    /**
+     * Sends one request per internal id with bounded concurrency, and waits
+     * for all of them.
+     *
+     * @param operation the function that sends the request of an internal id
+     * @return the report of the operation
+     * @throws GitlabException if the calling thread is interrupted while waiting
+     */
+    private BulkResult run(Function<Integer, CompletableFuture<Void>> operation) {
+        GitlabException[] errors = new GitlabException[iids.size()];
+        Semaphore permits = new Semaphore(concurrency);
+        try {
+            for (int i = 0; i < iids.size(); i++) {
+                int index = i;
+                permits.acquire();
+                CompletableFuture<Void> future;
+                try {
+                    future = Objects.requireNonNull(operation.apply(iids.get(i)));
+                } catch (RuntimeException e) {
+                    future = new CompletableFuture<>();
+                    future.completeExceptionally(e);
+                }
+                future.whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        errors[index] = toGitlabException(e);
+                    }
+                    permits.release();
+                });
+            }
+            // all the permits are back once every request is done
+            permits.acquire(concurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitlabException(e);
+        }
+        List<Integer> succeeded = new ArrayList<>();
+        Map<Integer, GitlabException> failed = new LinkedHashMap<>();
+        for (int i = 0; i < iids.size(); i++) {
+            if (errors[i] == null) {
+                succeeded.add(iids.get(i));
+            } else {
+                failed.put(iids.get(i), errors[i]);
+            }
+        }
+        return new BulkResult(succeeded, failed);
+    }
+
+    /**
+     * Unwraps the error of a failed request.
+     *
+     * @param e the error the future completed with
+     * @return the {@link GitlabException} of the failure
+     */
+    private static GitlabException toGitlabException(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof GitlabException ? (GitlabException) cause : new GitlabException(cause);
+    }
+}
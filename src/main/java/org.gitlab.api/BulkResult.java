@@ -0,0 +1,73 @@
+package org.gitlab.api;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is the report of a bulk operation from {@link BulkExecutor}: the
+ * internal ids of the issues or merge requests that succeeded, and the error
+ * of each one that failed.
+ */
+public final class BulkResult {
+    /**
+     * The internal ids that succeeded, in the order given to the executor.
+     */
+    private final List<Integer> succeeded;
+    /**
+     * The errors by internal id, in the order given to the executor.
+     */
+    private final Map<Integer, GitlabException> failed;
+
+    /**
+     * Constructs the {@code BulkResult}.
+     *
+     * @param succeeded the internal ids that succeeded
+     * @param failed    the errors by internal id
+     */
+    BulkResult(List<Integer> succeeded, Map<Integer, GitlabException> failed) {
+        this.succeeded = Collections.unmodifiableList(succeeded);
+        this.failed = Collections.unmodifiableMap(failed);
+    }
+
+    /**
+     * Returns the internal ids of the issues or merge requests that succeeded.
+     *
+     * @return the internal ids that succeeded
+     */
+    public List<Integer> getSucceeded() {
+        return succeeded;
+    }
+
+    /**
+     * Returns the error of each issue or merge request that failed.
+     *
+     * @return the errors by internal id
+     */
+    public Map<Integer, GitlabException> getFailed() {
+        return failed;
+    }
+
+    /**
+     * Tests if the operation succeeded on every issue or merge request.
+     *
+     * @return true if nothing failed
+     */
+    public boolean isAllSucceeded() {
+        return failed.isEmpty();
+    }
+
+    /**
+     * Returns a string representation of this {@link BulkResult} in the
+     * format of the number of successes and the failures.
+     *
+     * @return a string representation of this {@link BulkResult}
+     */
+    @Override
+    public String toString() {
+        return "BulkResult{" +
+                       "succeeded=" + succeeded.size() +
+                       ", failed=" + failed +
+                       '}';
+    }
+}
@@ -2,12 +2,16 @@ package org.gitlab.api;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.SerializerProvider;
 
 import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -32,6 +36,21 @@ class DateUtil {
      */
     static final DateTimeFormatter DATE_TIME_OFFSET_FORMATTER = DateTimeFormatter
             .ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSxxx");
+    /**
+     * The largest offset in quarter hours, as allowed by {@link ZoneOffset}
+     */
+    private static final int MAX_OFFSET_QUARTERS = 18 * 4;
+    /**
+     * The offsets of whole quarter hours from -18:00 to +18:00, indexed by
+     * the number of quarter hours plus {@link #MAX_OFFSET_QUARTERS}
+     */
+    private static final ZoneOffset[] OFFSETS = new ZoneOffset[2 * MAX_OFFSET_QUARTERS + 1];
+
+    static {
+        for (int i = 0; i < OFFSETS.length; i++) {
+            OFFSETS[i] = ZoneOffset.ofTotalSeconds((i - MAX_OFFSET_QUARTERS) * 15 * 60);
+        }
+    }
 
     /**
      * This class is not instantiatable
@@ -39,6 +58,129 @@ class DateUtil {
     private DateUtil() {
     }
 
+    /**
+     * Parse the current string token of the given parser as a timestamp,
+     * reading the characters of the parser without creating a String for the
+     * formats Gitlab sends, e.g. {@code 2020-12-14T01:34:24.852Z} or
+     * {@code 2020-12-02T04:06:57.000+00:00}. Any other text is parsed by
+     * {@link ZonedDateTime#parse(CharSequence)} as before, which also reports
+     * the invalid ones.
+     *
+     * @param jsonParser the parser at a string token
+     * @return the timestamp
+     * @throws IOException if the token cannot be read
+     */
+    static ZonedDateTime parseTimestamp(JsonParser jsonParser) throws IOException {
+        if (jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            char[] chars = jsonParser.getTextCharacters();
+            int offset = jsonParser.getTextOffset();
+            int length = jsonParser.getTextLength();
+            ZonedDateTime timestamp = parseTimestamp(chars, offset, length);
+            if (timestamp != null) {
+                return timestamp;
+            }
+            return ZonedDateTime.parse(new String(chars, offset, length));
+        }
+        return ZonedDateTime.parse(jsonParser.getText());
+    }
+
+    /**
+     * Parse a timestamp in the format {@code yyyy-MM-ddTHH:mm:ss[.S...]} followed
+     * by {@code Z} or an offset {@code +HH:MM}, with 0 to 9 fraction digits.
+     *
+     * @param chars  the characters
+     * @param offset the index of the first character
+     * @param length the number of characters
+     * @return the timestamp, or null if the characters are not in this format
+     * or are not a valid date and time
+     */
+    static ZonedDateTime parseTimestamp(char[] chars, int offset, int length) {
+        int end = offset + length;
+        if (length < 20 || chars[offset + 4] != '-' || chars[offset + 7] != '-' || chars[offset + 10] != 'T'
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':') {
+            return null;
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        int i = offset + 19;
+        int nano = 0;
+        if (chars[i] == '.') {
+            int start = ++i;
+            while (i < end && i - start < 9 && chars[i] >= '0' && chars[i] <= '9') {
+                nano = nano * 10 + chars[i++] - '0';
+            }
+            if (i == start) {
+                return null;
+            }
+            for (int scale = i - start; scale < 9; scale++) {
+                nano *= 10;
+            }
+        }
+        ZoneOffset zoneOffset = parseOffset(chars, i, end);
+        if (zoneOffset == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.of(LocalDateTime.of(year, month, day, hour, minute, second, nano), zoneOffset);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse the offset {@code Z} or {@code +HH:MM} that ends a timestamp.
+     *
+     * @param chars the characters
+     * @param start the index of the offset
+     * @param end   the index after the last character
+     * @return the offset, or null if the characters are not an offset
+     */
+    private static ZoneOffset parseOffset(char[] chars, int start, int end) {
+        if (end - start == 1 && chars[start] == 'Z') {
+            return ZoneOffset.UTC;
+        }
+        if (end - start != 6 || (chars[start] != '+' && chars[start] != '-') || chars[start + 3] != ':') {
+            return null;
+        }
+        int hours = digits(chars, start + 1, 2);
+        int minutes = digits(chars, start + 4, 2);
+        if ((hours | minutes) < 0 || hours > 18 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            return null;
+        }
+        int sign = chars[start] == '-' ? -1 : 1;
+        if (minutes % 15 == 0) {
+            return OFFSETS[MAX_OFFSET_QUARTERS + sign * (hours * 4 + minutes / 15)];
+        }
+        return ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes);
+    }
+
+    /**
+     * Parse the given number of decimal digits.
+     *
+     * @param chars the characters
+     * @param start the index of the first digit
+     * @param count the number of digits
+     * @return the value, or -1 if a character is not a digit
+     */
+    private static int digits(char[] chars, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
     /**
      * The class to serialize a {@link ZonedDateTime} to yyyy-MM-dd'T'HH:mm:ss'Z' format for Jackson
      */
@@ -55,7 +197,7 @@ class DateUtil {
     static class ZonedDeserializer extends JsonDeserializer<ZonedDateTime> {
         @Override
         public ZonedDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-            return ZonedDateTime.parse(jsonParser.getText());
+            return parseTimestamp(jsonParser);
         }
     }
 
@@ -75,7 +217,7 @@ class DateUtil {
     static class OffsetDeserializer extends JsonDeserializer<ZonedDateTime> {
         @Override
         public ZonedDateTime deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
-            return ZonedDateTime.parse(jsonParser.getText());
+            return parseTimestamp(jsonParser);
         }
     }
 }
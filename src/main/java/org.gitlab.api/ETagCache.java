@@ -0,0 +1,137 @@
+package org.gitlab.api;
+
+import okhttp3.Headers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * This class keeps the last response of GET requests together with its
+ * {@code ETag}, keyed by the entire url, so that the same url can be requested
+ * again with {@code If-None-Match} and, on {@code 304 Not Modified}, the
+ * components are rebuilt from the cached body without downloading it again.
+ *
+ * The cache is bounded by both the number of responses and the total size of
+ * their bodies; the least recently used response is evicted first.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/api/#etag-caching
+ */
+final class ETagCache {
+    /**
+     * The maximum number of cached responses
+     */
+    private final int maxEntries;
+    /**
+     * The maximum total size of the cached bodies in bytes
+     */
+    private final long maxBytes;
+    /**
+     * The cached responses keyed by the entire url in access order, guarded by {@code this}
+     */
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The total size of the cached bodies in bytes, guarded by {@code this}
+     */
+    private long bytes;
+
+    /**
+     * Constructs the {@code ETagCache} keeping at most the given number of
+     * responses and the given total size of bodies.
+     *
+     * @param maxEntries the maximum number of cached responses
+     * @param maxBytes   the maximum total size of the cached bodies in bytes
+     * @throws IllegalArgumentException if maxEntries or maxBytes is not positive
+     */
+    ETagCache(int maxEntries, long maxBytes) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("cannot have non-positive cache size");
+        }
+        if (maxBytes < 1) {
+            throw new IllegalArgumentException("cannot have non-positive cache budget");
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cached response of the given url.
+     *
+     * @param url the entire url
+     * @return the cached response, or null if there is none
+     */
+    synchronized CachedResponse get(String url) {
+        return responses.get(url);
+    }
+
+    /**
+     * Returns the total size of the cached bodies.
+     *
+     * @return the total size of the cached bodies in bytes
+     */
+    synchronized long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Caches the response of the given url, and evicts the least recently
+     * used responses beyond the bounds. A body larger than the whole budget
+     * is not cached, and drops the previous response of the url.
+     *
+     * @param url     the entire url
+     * @param etag    the {@code ETag} of the response
+     * @param headers the headers of the response, which carry the pagination information
+     * @param body    the body of the response
+     */
+    synchronized void put(String url, String etag, Headers headers, byte[] body) {
+        CachedResponse previous = responses.remove(url);
+        if (previous != null) {
+            bytes -= previous.body.length;
+        }
+        if (body.length > maxBytes) {
+            return;
+        }
+        responses.put(url, new CachedResponse(etag, headers, body));
+        bytes += body.length;
+        Iterator<CachedResponse> eldest = responses.values().iterator();
+        while (responses.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * A response kept by the {@link ETagCache}.
+     */
+    static final class CachedResponse {
+        /**
+         * The {@code ETag} of the response
+         */
+        private final String etag;
+        /**
+         * The headers of the response
+         */
+        private final Headers headers;
+        /**
+         * The body of the response
+         */
+        private final byte[] body;
+
+        private CachedResponse(String etag, Headers headers, byte[] body) {
+            this.etag = etag;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        Headers getHeaders() {
+            return headers;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+    }
+}
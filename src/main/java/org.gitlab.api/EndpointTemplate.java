@@ -0,0 +1,79 @@
+package org.gitlab.api;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is a static utility class to turn the path of a request into the
+ * template of its endpoint for {@link RequestMetrics}, e.g.
+ * {@code /projects/1234/issues/5} into {@code /projects/{id}/issues/{iid}},
+ * so that the metrics of an endpoint do not spread over one key per id.
+ */
+final class EndpointTemplate {
+    /**
+     * The placeholder of the segment following a collection segment
+     */
+    private static final Map<String, String> PLACEHOLDERS = new HashMap<>();
+
+    static {
+        PLACEHOLDERS.put("projects", "{id}");
+        PLACEHOLDERS.put("users", "{id}");
+        PLACEHOLDERS.put("groups", "{id}");
+        PLACEHOLDERS.put("issues", "{iid}");
+        PLACEHOLDERS.put("merge_requests", "{iid}");
+        PLACEHOLDERS.put("commits", "{sha}");
+        PLACEHOLDERS.put("branches", "{branch}");
+    }
+
+    /**
+     * This class is not instantiatable
+     */
+    private EndpointTemplate() {
+    }
+
+    /**
+     * Returns the template of the given path. A segment following a known
+     * collection (e.g. {@code projects} or {@code issues}) or made of digits
+     * only is replaced by a placeholder.
+     *
+     * @param path the encoded path of the request without the API namespace,
+     *             e.g. {@code /projects/1234/issues}
+     * @return the template, e.g. {@code /projects/{id}/issues}
+     */
+    static String of(String path) {
+        StringBuilder builder = new StringBuilder(path.length());
+        String previous = null;
+        int start = path.startsWith("/") ? 1 : 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            String segment = path.substring(start, end);
+            if (!segment.isEmpty()) {
+                String placeholder = previous == null ? null : PLACEHOLDERS.get(previous);
+                builder.append('/');
+                if (placeholder != null) {
+                    builder.append(placeholder);
+                    segment = placeholder;
+                } else if (isNumeric(segment)) {
+                    builder.append("{id}");
+                } else {
+                    builder.append(segment);
+                }
+                previous = segment;
+            }
+            start = end + 1;
+        }
+        return builder.length() == 0 ? "/" : builder.toString();
+    }
+
+    private static boolean isNumeric(String segment) {
+        for (int i = 0; i < segment.length(); i++) {
+            if (!Character.isDigit(segment.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,58 @@
+package org.gitlab.api;
+
+import java.util.function.Function;
+
+/**
+ * This is the interface of a client-side cache of Gitlab components, shared
+ * by every component created from the same {@link GitlabAPIClient}.
+ *
+ * Set one on {@link GitlabAPIClient.Builder#withProjectCache(EntityCache)} so
+ * that lazily fetched projects, e.g. {@link GitlabIssue#getProject()} on many
+ * issues of the same project, are fetched once per distinct project instead
+ * of once per component. Callers get a copy of a cached component, so
+ * changing it does not change the cached one.
+ *
+ * Implementations must be thread-safe.
+ *
+ * @param <K> the type of the key, e.g. the project id
+ * @param <V> the type of the cached component
+ */
+public interface EntityCache<K, V> {
+    /**
+     * Returns a cache that keeps at most {@code maxSize} entries, evicting the
+     * least recently used one first, and drops entries older than
+     * {@code ttlMillis}.
+     *
+     * @param maxSize   the maximum number of entries (a positive integer)
+     * @param ttlMillis the time to live of an entry in milliseconds, or 0 to keep entries until evicted
+     * @param <K>       the type of the key
+     * @param <V>       the type of the cached component
+     * @return a new bounded {@link EntityCache}
+     * @throws IllegalArgumentException if maxSize is not positive or ttlMillis is negative
+     */
+    static <K, V> EntityCache<K, V> lru(int maxSize, long ttlMillis) {
+        return new LruEntityCache<>(maxSize, ttlMillis);
+    }
+
+    /**
+     * Returns the cached value of the given key, or loads, caches and returns
+     * it if it is absent or expired.
+     *
+     * @param key    the key
+     * @param loader the function to load the value of the key on a miss
+     * @return the value of the key
+     */
+    V get(K key, Function<? super K, ? extends V> loader);
+
+    /**
+     * Removes the entry of the given key, if any.
+     *
+     * @param key the key
+     */
+    void invalidate(K key);
+
+    /**
+     * Removes every entry.
+     */
+    void invalidateAll();
+}
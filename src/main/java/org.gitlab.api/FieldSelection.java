@@ -0,0 +1,113 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This is the filter of a list response that only passes the selected
+ * top-level attributes of each component to the deserializer, see
+ * {@link GitlabQuery#select(String...)}.
+ *
+ * The other attributes are skipped by the streaming parser: their strings
+ * are never decoded and their objects and arrays are never bound, so a large
+ * {@code description} costs a scan of its bytes instead of a {@code String}.
+ * The identifying attributes {@code id}, {@code iid} and {@code project_id}
+ * are always passed, since the components need them to send any request.
+ */
+final class FieldSelection {
+    /**
+     * The attributes passed whether they are selected or not
+     */
+    private static final Set<String> IDENTIFIERS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("id", "iid", "project_id")));
+    /**
+     * The names of the attributes passed to the deserializer
+     */
+    private final Set<String> fields;
+
+    /**
+     * Constructs a {@link FieldSelection} of the given attributes.
+     *
+     * @param fields the JSON names of the attributes, e.g. {@code updated_at}
+     * @throws NullPointerException if any of the names is null
+     */
+    FieldSelection(String... fields) {
+        Set<String> set = new HashSet<>(IDENTIFIERS);
+        for (String field : fields) {
+            set.add(Objects.requireNonNull(field));
+        }
+        this.fields = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Returns a parser that reads the given parser of a list response
+     * without the attributes of the components that are not selected.
+     *
+     * @param parser the parser of the list response
+     * @return the filtering parser
+     */
+    JsonParser filter(JsonParser parser) {
+        return new SelectingParser(parser);
+    }
+
+    /**
+     * The parser that skips the attributes of the components that are not
+     * selected. Every component is still passed on, even if it has none of
+     * the selected attributes, so the list keeps its length.
+     */
+    private final class SelectingParser extends JsonParserDelegate {
+        SelectingParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public JsonToken nextToken() throws IOException {
+            JsonToken token = delegate.nextToken();
+            while (token == JsonToken.FIELD_NAME && isComponent(delegate.getParsingContext())
+                    && !fields.contains(delegate.getCurrentName())) {
+                // the value is skipped without decoding its strings or binding its children
+                delegate.nextToken();
+                delegate.skipChildren();
+                token = delegate.nextToken();
+            }
+            return token;
+        }
+
+        @Override
+        public JsonToken nextValue() throws IOException {
+            JsonToken token = nextToken();
+            return token == JsonToken.FIELD_NAME ? nextToken() : token;
+        }
+
+        /**
+         * Tests if the given context is the object of a component, i.e. an
+         * element of the array of the response.
+         *
+         * @param context the context of the current attribute
+         * @return true if the context is the object of a component
+         */
+        private boolean isComponent(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            return parent != null && parent.inArray() && parent.getParent() != null && parent.getParent().inRoot();
+        }
+    }
+
+    /**
+     * The string representation of this selection
+     *
+     * @return the string representation of this selection
+     */
+    @Override
+    public String toString() {
+        return "FieldSelection" + fields;
+    }
+}
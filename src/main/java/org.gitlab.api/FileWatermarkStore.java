@@ -0,0 +1,70 @@
+package org.gitlab.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Properties;
+
+/**
+ * This class is the {@link WatermarkStore} that keeps the watermarks in a
+ * properties file, as ISO-8601 date times.
+ */
+final class FileWatermarkStore implements WatermarkStore {
+    /**
+     * The properties file.
+     */
+    private final Path file;
+    /**
+     * The watermarks as ISO-8601 strings by key, guarded by {@code this}.
+     */
+    private final Properties watermarks = new Properties();
+
+    /**
+     * Constructs the {@code FileWatermarkStore} and loads the file if it exists.
+     *
+     * @param file the properties file
+     * @throws GitlabException if the file exists but cannot be read
+     */
+    FileWatermarkStore(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                watermarks.load(in);
+            } catch (IOException e) {
+                throw new GitlabException("Watermarks cannot be read", e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized ZonedDateTime get(String key) {
+        String watermark = watermarks.getProperty(key);
+        return watermark == null ? null : ZonedDateTime.parse(watermark, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    @Override
+    public synchronized void put(String key, ZonedDateTime watermark) {
+        watermarks.setProperty(key, watermark.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                watermarks.store(out, "Gitlab sync watermarks");
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new GitlabException("Watermarks cannot be written", e);
+        }
+    }
+}
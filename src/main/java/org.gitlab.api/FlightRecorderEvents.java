@@ -0,0 +1,66 @@
+package org.gitlab.api;
+
+/**
+ * This is a static utility class guarding the Java Flight Recorder events of
+ * the library, so that the library still runs on a JVM without the
+ * {@code jdk.jfr} API (e.g. Java 8 before 8u262), where no event is emitted.
+ *
+ * When no recording has enabled the events, {@link #isEnabled()} is a field
+ * read and a call to {@link jdk.jfr.EventType#isEnabled()}, and no event is
+ * created.
+ */
+final class FlightRecorderEvents {
+    /**
+     * Whether the JVM has the {@code jdk.jfr} API
+     */
+    private static final boolean AVAILABLE = isAvailable();
+
+    /**
+     * This class is not instantiatable
+     */
+    private FlightRecorderEvents() {
+    }
+
+    private static boolean isAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, FlightRecorderEvents.class.getClassLoader());
+            ApiCallEvent.isTypeEnabled();
+            return true;
+        } catch (Throwable e) {
+            // no jdk.jfr module, or the events cannot be registered
+            return false;
+        }
+    }
+
+    /**
+     * Tests if a recording has enabled the API call events.
+     *
+     * @return true if API call events should be created
+     */
+    static boolean isEnabled() {
+        return AVAILABLE && ApiCallEvent.isTypeEnabled();
+    }
+
+    /**
+     * Creates and begins an API call event, right before a request is sent.
+     *
+     * @return the event, or null if the events are not enabled
+     */
+    static Object startApiCall() {
+        return isEnabled() ? ApiCallEvent.start() : null;
+    }
+
+    /**
+     * Ends and commits an API call event.
+     *
+     * @param event          the event returned by {@link #startApiCall()}, may be null
+     * @param metrics        the metrics of the request
+     * @param queueWaitNanos the time waiting for the rate limit in nanoseconds
+     * @param page           the page number, or 0
+     */
+    static void commitApiCall(Object event, RequestMetrics metrics, long queueWaitNanos, int page) {
+        if (event != null) {
+            ApiCallEvent.record(event, metrics, queueWaitNanos, page);
+        }
+    }
+}
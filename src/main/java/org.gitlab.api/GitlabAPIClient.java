@@ -3,6 +3,12 @@ package org.gitlab.api;
 import java.io.UnsupportedEncodingException;
 import java.net.Proxy;
 import java.net.URLEncoder;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class implements Gitlab API client that keeps endpoint, HTTP request
@@ -50,6 +56,70 @@ public final class GitlabAPIClient {
      * The proxy for API calls.
      */
     private final Proxy proxy;
+    /**
+     * The cache of projects shared by components, or null if disabled.
+     */
+    private final EntityCache<Integer, GitlabProject> projectCache;
+    /**
+     * The maximum number of GET responses kept for conditional requests, or 0 if disabled.
+     */
+    private final int conditionalCacheSize;
+    /**
+     * The maximum total size in bytes of the GET response bodies kept for conditional requests.
+     */
+    private final long conditionalCacheBytes;
+    /**
+     * Whether requests are paced and queued by the rate limit.
+     */
+    private final boolean rateLimitScheduling;
+    /**
+     * The policy of retrying failed requests.
+     */
+    private final RetryPolicy retryPolicy;
+    /**
+     * Whether identical concurrent GET requests share one HTTP call.
+     */
+    private final boolean requestCoalescing;
+    /**
+     * The listener of the metrics of every request.
+     */
+    private final MetricsListener metricsListener;
+    /**
+     * Whether the embedded users are interned across responses.
+     */
+    private final boolean userInterning;
+    /**
+     * Whether the large texts are kept as UTF-8 bytes until read.
+     */
+    private final boolean lazyText;
+    /**
+     * The maximum number of idle connections kept in the pool.
+     */
+    private final int maxIdleConnections;
+    /**
+     * How long an idle connection is kept in the pool in milliseconds.
+     */
+    private final long keepAliveMillis;
+    /**
+     * The maximum number of asynchronous requests in flight.
+     */
+    private final int maxRequests;
+    /**
+     * The maximum number of asynchronous requests in flight to the endpoint.
+     */
+    private final int maxRequestsPerHost;
+    /**
+     * Whether HTTP/2 is negotiated with the endpoint.
+     */
+    private final boolean http2;
+    /**
+     * The client whose connection pool and dispatcher are shared, or null.
+     */
+    private final GitlabAPIClient sharedTransport;
+    /**
+     * The named access tokens of the token pool.
+     */
+    private final Map<String, String> accessTokens;
     /**
      * The HTTP client helper.
      */
@@ -69,9 +139,76 @@ public final class GitlabAPIClient {
         this.readTimeout = builder.readTimeout;
         this.writeTimeout = builder.writeTimeout;
         this.proxy = builder.proxy;
+        this.projectCache = builder.projectCache;
+        this.conditionalCacheSize = builder.conditionalCacheSize;
+        this.conditionalCacheBytes = builder.conditionalCacheBytes;
+        this.rateLimitScheduling = builder.rateLimitScheduling;
+        this.retryPolicy = builder.retryPolicy;
+        this.requestCoalescing = builder.requestCoalescing;
+        this.metricsListener = builder.metricsListener;
+        this.userInterning = builder.userInterning;
+        this.lazyText = builder.lazyText;
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAliveMillis = builder.keepAliveMillis;
+        this.maxRequests = builder.maxRequests;
+        this.maxRequestsPerHost = builder.maxRequestsPerHost;
+        this.http2 = builder.http2;
+        this.sharedTransport = builder.sharedTransport;
+        this.accessTokens = Collections.unmodifiableMap(new LinkedHashMap<>(builder.accessTokens));
         httpClient = new HttpClient(this);
     }
 
+    /**
+     * Construct a view of the given {@link GitlabAPIClient} which sends
+     * writes with the access token of the given name.
+     *
+     * @param client     the client to share
+     * @param writeToken the name of the access token for writes
+     */
+    private GitlabAPIClient(GitlabAPIClient client, String writeToken) {
+        this.endpoint = client.endpoint;
+        this.authMethod = client.authMethod;
+        this.token = client.token;
+        this.apiNamespace = client.apiNamespace;
+        this.connectionTimeout = client.connectionTimeout;
+        this.readTimeout = client.readTimeout;
+        this.writeTimeout = client.writeTimeout;
+        this.proxy = client.proxy;
+        this.projectCache = client.projectCache;
+        this.conditionalCacheSize = client.conditionalCacheSize;
+        this.conditionalCacheBytes = client.conditionalCacheBytes;
+        this.rateLimitScheduling = client.rateLimitScheduling;
+        this.retryPolicy = client.retryPolicy;
+        this.requestCoalescing = client.requestCoalescing;
+        this.metricsListener = client.metricsListener;
+        this.userInterning = client.userInterning;
+        this.lazyText = client.lazyText;
+        this.maxIdleConnections = client.maxIdleConnections;
+        this.keepAliveMillis = client.keepAliveMillis;
+        this.maxRequests = client.maxRequests;
+        this.maxRequestsPerHost = client.maxRequestsPerHost;
+        this.http2 = client.http2;
+        this.sharedTransport = client.sharedTransport;
+        this.accessTokens = client.accessTokens;
+        httpClient = new HttpClient(client.httpClient, writeToken);
+    }
+
+    /**
+     * Returns a view of this client that sends writes (PUT, POST and
+     * DELETE requests) with the access token of the given name. The view
+     * shares the connections, caches and rate limit state of this client,
+     * and reads are still routed to the token with the most remaining
+     * budget.
+     *
+     * @param name the name given to the access token by
+     *             {@link Builder#addAccessToken(String, String)}
+     * @return a view of this client writing with the given token
+     * @throws IllegalArgumentException if there is no access token of the given name
+     */
+    public GitlabAPIClient withWriteToken(String name) {
+        return new GitlabAPIClient(this, Objects.requireNonNull(name));
+    }
+
     /**
      * Returns API endpoint.
      *
@@ -144,6 +281,159 @@ public final class GitlabAPIClient {
         return connectionTimeout;
     }
 
+    /**
+     * Returns the cache of projects shared by components.
+     *
+     * @return the {@link EntityCache} of projects, or null if disabled
+     */
+    EntityCache<Integer, GitlabProject> getProjectCache() {
+        return projectCache;
+    }
+
+    /**
+     * Returns the maximum number of GET responses kept for conditional requests.
+     *
+     * @return the maximum number of kept responses, or 0 if conditional requests are disabled
+     */
+    int getConditionalCacheSize() {
+        return conditionalCacheSize;
+    }
+
+    /**
+     * Returns the maximum total size of the GET response bodies kept for conditional requests.
+     *
+     * @return the maximum total size of the kept bodies in bytes
+     */
+    long getConditionalCacheBytes() {
+        return conditionalCacheBytes;
+    }
+
+    /**
+     * Tests if requests are paced and queued by the rate limit.
+     *
+     * @return true if requests are paced and queued by the rate limit
+     */
+    boolean isRateLimitScheduling() {
+        return rateLimitScheduling;
+    }
+
+    /**
+     * Returns the policy of retrying failed requests.
+     *
+     * @return the retry policy
+     */
+    RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Returns the listener of the metrics of every request.
+     *
+     * @return the metrics listener
+     */
+    MetricsListener getMetricsListener() {
+        return metricsListener;
+    }
+
+    /**
+     * Tests if the embedded users are interned across responses.
+     *
+     * @return true if the embedded users are interned across responses
+     */
+    boolean isUserInterning() {
+        return userInterning;
+    }
+
+    /**
+     * Tests if the large texts are kept as UTF-8 bytes until read.
+     *
+     * @return true if the large texts are kept as UTF-8 bytes until read
+     */
+    boolean isLazyText() {
+        return lazyText;
+    }
+
+    /**
+     * Tests if identical concurrent GET requests share one HTTP call.
+     *
+     * @return true if identical concurrent GET requests share one HTTP call
+     */
+    boolean isRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    /**
+     * Returns the maximum number of idle connections kept in the pool.
+     *
+     * @return the maximum number of idle connections
+     */
+    int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    /**
+     * Returns how long an idle connection is kept in the pool.
+     *
+     * @return the keep-alive duration in milliseconds
+     */
+    long getKeepAliveMillis() {
+        return keepAliveMillis;
+    }
+
+    /**
+     * Returns the maximum number of asynchronous requests in flight.
+     *
+     * @return the maximum number of requests
+     */
+    int getMaxRequests() {
+        return maxRequests;
+    }
+
+    /**
+     * Returns the maximum number of asynchronous requests in flight to the endpoint.
+     *
+     * @return the maximum number of requests per host
+     */
+    int getMaxRequestsPerHost() {
+        return maxRequestsPerHost;
+    }
+
+    /**
+     * Tests if HTTP/2 is negotiated with the endpoint.
+     *
+     * @return true if HTTP/2 is negotiated with the endpoint
+     */
+    boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Returns the client whose connection pool and dispatcher are shared.
+     *
+     * @return the client sharing its transport, or null if this client has its own
+     */
+    GitlabAPIClient getSharedTransport() {
+        return sharedTransport;
+    }
+
+    /**
+     * Returns the HTTP client helper of this client.
+     *
+     * @return the HTTP client helper
+     */
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * Returns the named access tokens of the token pool.
+     *
+     * @return the access tokens by name
+     */
+    Map<String, String> getAccessTokens() {
+        return accessTokens;
+    }
+
     /**
      * Returns a {@link GitlabIssue.Query} that can build query options and
      * execute query for issues related to current authenticated user.
@@ -237,6 +527,22 @@ public final class GitlabAPIClient {
         return httpClient.get("/projects/" + projectId, GitlabProject.class);
     }
 
+    /**
+     * Asynchronously returns the project specified by projectId if exists,
+     * without blocking the calling thread while the request is in flight.
+     *
+     * <p>
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/projects.html#get-single-project
+     * <p>
+     * GET /projects/:id
+     *
+     * @param projectId the project Id
+     * @return a future of the {@link GitlabProject} of given projectId
+     */
+    public CompletableFuture<GitlabProject> getProjectAsync(int projectId) {
+        return httpClient.getAsync("/projects/" + projectId, GitlabProject.class);
+    }
+
     /**
      * Returns the project specified by namespace and projectPath if exists.
      *
@@ -311,6 +617,10 @@ public final class GitlabAPIClient {
          * Thee default API namespace.
          */
         private static final String DEFAULT_API_NAMESPACE = "/api/v4";
+        /**
+         * The default maximum total size of the kept response bodies, 32 MiB.
+         */
+        private static final long DEFAULT_CONDITIONAL_CACHE_BYTES = 32L << 20;
 
         /**
          * The Gitlab API endpoint.
@@ -346,6 +656,70 @@ public final class GitlabAPIClient {
          * The proxy.
          */
         private Proxy proxy;
+        /**
+         * The cache of projects, disabled by default.
+         */
+        private EntityCache<Integer, GitlabProject> projectCache;
+        /**
+         * The maximum number of GET responses kept for conditional requests, disabled by default.
+         */
+        private int conditionalCacheSize;
+        /**
+         * The maximum total size in bytes of the GET response bodies kept for conditional requests.
+         */
+        private long conditionalCacheBytes = DEFAULT_CONDITIONAL_CACHE_BYTES;
+        /**
+         * Whether requests are paced and queued by the rate limit, disabled by default.
+         */
+        private boolean rateLimitScheduling;
+        /**
+         * The policy of retrying failed requests, no retry by default.
+         */
+        private RetryPolicy retryPolicy = RetryPolicy.none();
+        /**
+         * Whether identical concurrent GET requests share one HTTP call, disabled by default.
+         */
+        private boolean requestCoalescing;
+        /**
+         * The listener of the metrics of every request, none by default.
+         */
+        private MetricsListener metricsListener = MetricsListener.none();
+        /**
+         * Whether the embedded users are interned across responses, disabled by default.
+         */
+        private boolean userInterning;
+        /**
+         * Whether the large texts are kept as UTF-8 bytes until read, disabled by default.
+         */
+        private boolean lazyText;
+        /**
+         * The maximum number of idle connections kept in the pool, 5 by default.
+         */
+        private int maxIdleConnections = 5;
+        /**
+         * How long an idle connection is kept in the pool, 5 minutes by default.
+         */
+        private long keepAliveMillis = TimeUnit.MINUTES.toMillis(5);
+        /**
+         * The maximum number of asynchronous requests in flight, 64 by default.
+         */
+        private int maxRequests = 64;
+        /**
+         * The maximum number of asynchronous requests in flight to the endpoint, 5 by default.
+         */
+        private int maxRequestsPerHost = 5;
+        /**
+         * Whether HTTP/2 is negotiated with the endpoint, enabled by default.
+         */
+        private boolean http2 = true;
+        /**
+         * The client whose connection pool and dispatcher are shared, none by default.
+         */
+        private GitlabAPIClient sharedTransport;
+        /**
+         * The named access tokens of the token pool, none by default.
+         */
+        private final Map<String, String> accessTokens = new LinkedHashMap<>();
 
         /**
          * Constructs the {@code GitlabAPIClient.Builder} instance.
@@ -424,6 +798,255 @@ public final class GitlabAPIClient {
             return this;
         }
 
+        /**
+         * Sets the cache of projects to the builder, which is shared by every
+         * component created from the client. Projects fetched lazily, e.g. by
+         * {@link GitlabIssue#getProject()} or
+         * {@link GitlabMergeRequest#getProject()}, are then fetched once per
+         * distinct project id.
+         *
+         * @param projectCache the cache of projects keyed by project id, e.g.
+         *                     {@code EntityCache.lru(1000, 60_000)}, or null to disable
+         * @return {@code Builder} with projectCache
+         */
+        public Builder withProjectCache(EntityCache<Integer, GitlabProject> projectCache) {
+            this.projectCache = projectCache;
+            return this;
+        }
+
+        /**
+         * Enables conditional requests on the builder. The response of each
+         * GET request carrying an {@code ETag} is kept by its entire url, the
+         * same url is requested again with {@code If-None-Match}, and on
+         * {@code 304 Not Modified} the components are rebuilt from the kept
+         * response instead of downloading it again. This suits polling the
+         * same queries repeatedly.
+         *
+         * The kept bodies take at most 32 MiB in total, see
+         * {@link #withConditionalRequests(int, long)}.
+         *
+         * @param maxEntries the maximum number of kept responses, the least recently used is dropped first
+         * @return {@code Builder} with conditional requests enabled
+         * @throws IllegalArgumentException if maxEntries is not positive
+         */
+        public Builder withConditionalRequests(int maxEntries) {
+            return withConditionalRequests(maxEntries, DEFAULT_CONDITIONAL_CACHE_BYTES);
+        }
+
+        /**
+         * Enables conditional requests on the builder, like
+         * {@link #withConditionalRequests(int)}, with a limit on the total
+         * size of the kept response bodies. The least recently used responses
+         * are dropped first once either limit is exceeded, and a body larger
+         * than maxBytes is not kept at all.
+         *
+         * @param maxEntries the maximum number of kept responses
+         * @param maxBytes   the maximum total size of the kept bodies in bytes
+         * @return {@code Builder} with conditional requests enabled
+         * @throws IllegalArgumentException if maxEntries or maxBytes is not positive
+         */
+        public Builder withConditionalRequests(int maxEntries, long maxBytes) {
+            if (maxEntries < 1) {
+                throw new IllegalArgumentException("cannot have non-positive cache size");
+            }
+            if (maxBytes < 1) {
+                throw new IllegalArgumentException("cannot have non-positive cache budget");
+            }
+            this.conditionalCacheSize = maxEntries;
+            this.conditionalCacheBytes = maxBytes;
+            return this;
+        }
+
+        /**
+         * Enables or disables rate limit scheduling on the builder. If
+         * enabled, the client tracks the {@code RateLimit-*} response headers,
+         * spreads the requests over the rest of the window once the remaining
+         * budget runs low, and queues a request rejected with
+         * {@code 429 Too Many Requests} until {@code Retry-After} instead of
+         * throwing {@link GitlabException}. Blocking calls wait on the calling
+         * thread, asynchronous calls wait without holding a thread.
+         *
+         * @param rateLimitScheduling whether requests are paced and queued by the rate limit
+         * @return {@code Builder} with rateLimitScheduling
+         */
+        public Builder withRateLimitScheduling(boolean rateLimitScheduling) {
+            this.rateLimitScheduling = rateLimitScheduling;
+            return this;
+        }
+
+        /**
+         * Sets the retry policy to the builder, which decides how requests
+         * failing with a timeout, a connection error or a {@code 502},
+         * {@code 503} or {@code 504} response are sent again. By default
+         * failed requests are not retried.
+         *
+         * @param retryPolicy the retry policy
+         * @return {@code Builder} with retryPolicy
+         * @see RetryPolicy
+         */
+        public Builder withRetryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = Objects.requireNonNull(retryPolicy);
+            return this;
+        }
+
+        /**
+         * Enables or disables request coalescing on the builder. If enabled,
+         * a blocking GET of a single component or a list (e.g.
+         * {@link GitlabAPIClient#getProject(int)} or
+         * {@link GitlabAPIClient#getUser(int)}) that is issued while an
+         * identical GET is in flight waits for that request instead of
+         * sending its own. Every caller still gets its own instance, parsed
+         * from the shared response body.
+         *
+         * @param requestCoalescing whether identical concurrent GET requests share one HTTP call
+         * @return {@code Builder} with requestCoalescing
+         */
+        public Builder withRequestCoalescing(boolean requestCoalescing) {
+            this.requestCoalescing = requestCoalescing;
+            return this;
+        }
+
+        /**
+         * Sets the metrics listener to the builder, which is notified of the
+         * status code, bytes received, time to first byte, latency and parse
+         * time of every request, keyed by the template of its endpoint
+         * (e.g. {@code /projects/{id}/issues}). By default no metrics are
+         * measured.
+         *
+         * @param metricsListener the metrics listener, e.g. an {@link InMemoryMetrics}
+         * @return {@code Builder} with metricsListener
+         * @see MetricsListener
+         */
+        public Builder withMetricsListener(MetricsListener metricsListener) {
+            this.metricsListener = Objects.requireNonNull(metricsListener);
+            return this;
+        }
+
+        /**
+         * Enables or disables interning the users across responses on the
+         * builder. The {@link GitlabUser}s embedded in other components (e.g.
+         * the author, assignees and closed_by of an issue) are always
+         * deserialized to one shared instance per user within a response. If
+         * enabled, they are also shared across every response of the client
+         * as long as they are referenced, which saves heap when many pages of
+         * issues or merge requests are kept in memory. A user is only shared
+         * if none of its attributes has changed.
+         *
+         * @param userInterning whether the embedded users are interned across responses
+         * @return {@code Builder} with userInterning
+         */
+        public Builder withUserInterning(boolean userInterning) {
+            this.userInterning = userInterning;
+            return this;
+        }
+
+        /**
+         * Enables or disables lazy texts on the builder. If enabled, the
+         * description of issues and merge requests and the message of
+         * commits are kept as UTF-8 bytes, and only decoded by the first call
+         * to {@code getDescription()} or {@code getMessage()}. This saves
+         * memory when many components are kept but their texts are rarely
+         * read, at the cost of encoding the texts while parsing.
+         *
+         * @param lazyText whether the large texts are kept as UTF-8 bytes until read
+         * @return {@code Builder} with lazyText
+         */
+        public Builder withLazyText(boolean lazyText) {
+            this.lazyText = lazyText;
+            return this;
+        }
+
+        /**
+         * Sets the size of the connection pool to the builder. Connections
+         * to the endpoint are reused by later requests until they have been
+         * idle for keepAliveMillis.
+         *
+         * @param maxIdleConnections the maximum number of idle connections kept in the pool
+         * @param keepAliveMillis    how long an idle connection is kept in milliseconds
+         * @return {@code Builder} with the connection pool
+         * @throws IllegalArgumentException if maxIdleConnections is negative or keepAliveMillis is not positive
+         */
+        public Builder withConnectionPool(int maxIdleConnections, long keepAliveMillis) {
+            if (maxIdleConnections < 0 || keepAliveMillis <= 0) {
+                throw new IllegalArgumentException("cannot have negative idle connections or keep-alive");
+            }
+            this.maxIdleConnections = maxIdleConnections;
+            this.keepAliveMillis = keepAliveMillis;
+            return this;
+        }
+
+        /**
+         * Sets the limits of asynchronous requests in flight to the builder.
+         * Requests beyond the limits wait in the dispatcher queue. With
+         * HTTP/2 the requests to the endpoint share one connection, so
+         * maxRequestsPerHost can be raised without opening more connections.
+         *
+         * @param maxRequests        the maximum number of requests in flight
+         * @param maxRequestsPerHost the maximum number of requests in flight to the endpoint
+         * @return {@code Builder} with the request limits
+         * @throws IllegalArgumentException if a limit is not positive
+         */
+        public Builder withMaxRequests(int maxRequests, int maxRequestsPerHost) {
+            if (maxRequests < 1 || maxRequestsPerHost < 1) {
+                throw new IllegalArgumentException("cannot have non-positive request limits");
+            }
+            this.maxRequests = maxRequests;
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        /**
+         * Enables or disables HTTP/2 on the builder. If enabled, HTTP/2 is
+         * negotiated with an HTTPS endpoint that supports it, and the
+         * requests are multiplexed over a single connection; otherwise
+         * HTTP/1.1 is always used.
+         *
+         * @param http2 whether HTTP/2 is negotiated with the endpoint
+         * @return {@code Builder} with http2
+         */
+        public Builder withHttp2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Shares the connection pool and dispatcher of the given client with
+         * the client being built, e.g. to serve several tokens over the same
+         * connections. The timeouts and proxy of this builder still apply,
+         * while its connection pool, request limits and HTTP/2 settings are
+         * those of the given client.
+         *
+         * @param client the client whose transport is shared
+         * @return {@code Builder} with the shared transport
+         */
+        public Builder withSharedTransport(GitlabAPIClient client) {
+            this.sharedTransport = Objects.requireNonNull(client);
+            return this;
+        }
+
+        /**
+         * Adds a named access token to the token pool of the builder. The
+         * rate limit of each token is tracked on its own, and every GET
+         * request is sent with the token that has the most remaining budget,
+         * so that the budgets of all the tokens add up. Writes are sent with
+         * the token set by {@link #withAccessToken(String)} or
+         * {@link #withOAuth2Token(String)}, or the first token added if there
+         * is none; use {@link GitlabAPIClient#withWriteToken(String)} to
+         * choose another one.
+         *
+         * @param name  the name of the token, unique in the pool
+         * @param token access token
+         * @return {@code Builder} with the access token added to the pool
+         * @throws IllegalArgumentException if a token of the same name is already added
+         */
+        public Builder addAccessToken(String name, String token) {
+            if (accessTokens.containsKey(Objects.requireNonNull(name))) {
+                throw new IllegalArgumentException("Duplicate access token named " + name);
+            }
+            accessTokens.put(name, Objects.requireNonNull(token));
+            return this;
+        }
+
         /**
          * Sets API namespace to the builder.
          *
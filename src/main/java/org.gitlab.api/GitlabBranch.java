@@ -287,6 +287,19 @@ public final class GitlabBranch extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link ProjectQuery} only reading the given attributes
+         */
+        @Override
+        public ProjectQuery select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns the URL suffix for this HTTP request.
          *
@@ -6,6 +6,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
@@ -45,7 +46,9 @@ public final class GitlabCommit extends GitlabComponent {
     @JsonSerialize(using = DateUtil.OffsetSerializer.class)
     private ZonedDateTime createdAt;
     @JsonProperty("message")
-    private String message;
+    @JsonDeserialize(using = LazyText.Deserializer.class)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private CharSequence message;
     @JsonProperty("committed_date")
     @JsonDeserialize(using = DateUtil.OffsetDeserializer.class)
     @JsonSerialize(using = DateUtil.OffsetSerializer.class)
@@ -193,7 +196,7 @@ public final class GitlabCommit extends GitlabComponent {
      * @return commit message of this commit
      */
     public String getMessage() {
-        return message;
+        return LazyText.asString(message);
     }
 
     /**
@@ -374,6 +377,19 @@ public final class GitlabCommit extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link ProjectQuery} only reading the given attributes
+         */
+        @Override
+        public ProjectQuery select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns a query that sets commits order in given order.
          * <p>
@@ -2,9 +2,11 @@ package org.gitlab.api;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * This is an abstract class that Gitlab component classes must extend from.
@@ -13,11 +15,21 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
  * because it should not be instantiated.
  */
 abstract class GitlabComponent {
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     @JsonIgnore
     protected HttpClient httpClient;
+    /**
+     * The body keys of the fields changed by the {@code with*} setters since
+     * the last sync with Gitlab, with the version of their last change. This
+     * is concurrent, since an asynchronous request marks its fields clean on
+     * the OkHttp dispatcher thread.
+     */
+    @JsonIgnore
+    private final Map<String, Long> dirtyKeys = new ConcurrentHashMap<>();
+    /**
+     * The version of the last change of a field.
+     */
+    @JsonIgnore
+    private final AtomicLong version = new AtomicLong();
 
     /**
      * Binds given HTTP client helper to this component.
@@ -30,6 +42,52 @@ abstract class GitlabComponent {
         return this;
     }
 
+    /**
+     * Records that the field sent under the given body key has been changed
+     * since the last sync with Gitlab.
+     *
+     * @param key the body key of the changed field
+     */
+    void markDirty(String key) {
+        dirtyKeys.put(key, version.incrementAndGet());
+    }
+
+    /**
+     * Tests if any field has been changed since the last sync with Gitlab.
+     *
+     * @return true if any field has been changed
+     */
+    boolean isDirty() {
+        return !dirtyKeys.isEmpty();
+    }
+
+    /**
+     * Returns the versions of the changed fields. They must be taken before
+     * the body is built from the fields, so that a field changed while the
+     * body is built or sent keeps a newer version.
+     *
+     * @return the versions by body key of the changed fields
+     */
+    Map<String, Long> getDirtyVersions() {
+        return new HashMap<>(dirtyKeys);
+    }
+
+    /**
+     * Records that the fields in the given body have been synced with Gitlab,
+     * unless they have been changed again since their versions were taken.
+     *
+     * @param body     the body that has been sent
+     * @param versions the versions of the changed fields taken before the body was built
+     */
+    void markClean(Body body, Map<String, Long> versions) {
+        for (String key : body.keySet()) {
+            Long sent = versions.get(key);
+            if (sent != null) {
+                dirtyKeys.remove(key, sent);
+            }
+        }
+    }
+
     /**
      * Returns the serialized attributes of this {@code GitlabComponent} in
      * JSON format string.
@@ -38,7 +96,7 @@ abstract class GitlabComponent {
      */
     public String toJsonString() {
         try {
-            return MAPPER.writeValueAsString(this);
+            return JsonUtil.writerFor(getClass()).writeValueAsString(this);
         } catch (JsonProcessingException e) {
             // should never happen
             throw new GitlabException(e);
@@ -7,13 +7,18 @@ import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.io.IOException;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class serves as instance of Gitlab component Issue.
@@ -39,7 +44,9 @@ public final class GitlabIssue extends GitlabComponent {
     @JsonProperty("author")
     private GitlabUser author;
     @JsonProperty("description")
-    private String description;
+    @JsonDeserialize(using = LazyText.Deserializer.class)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private CharSequence description;
     @JsonProperty("state")
     private String state;
     @JsonProperty("assignees")
@@ -142,13 +149,28 @@ public final class GitlabIssue extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabIssue create() {
-        Body body = new Body()
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putStringArray("labels", labels)
-                .putString("description", description)
-                .putDate("due_date", dueDate);
-        return httpClient.post(String.format("/projects/%d/issues", projectId), body, this);
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getCreateBody();
+        GitlabIssue issue = httpClient.post(String.format("/projects/%d/issues", projectId), body, this);
+        markClean(body, versions);
+        return issue;
+    }
+
+    /**
+     * Asynchronous version of {@link #create()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * @return a future of the created {@link GitlabIssue} instance, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabIssue> createAsync() {
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getCreateBody();
+        return httpClient.postAsync(String.format("/projects/%d/issues", projectId), body, this)
+                .thenApply(issue -> {
+                    markClean(body, versions);
+                    return issue;
+                });
     }
 
     /**
@@ -166,20 +188,43 @@ public final class GitlabIssue extends GitlabComponent {
 
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
-     * {@link GitlabIssue} based on its current fields.
+     * {@link GitlabIssue} based on its current fields. Only the fields changed
+     * by the {@code with*} setters since the last sync are sent, and no
+     * request is sent if none has changed.
      *
      * @return the updated {@link GitlabIssue} instance
      * @throws GitlabException if {@link IOException} occurs or API endpoint fails
      * to give a valid response (response code within [200,400))
      */
     public GitlabIssue update() {
-        Body body = new Body()
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels)
-                .putDate("due_date", dueDate);
-        return httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+        if (!isDirty()) {
+            return this;
+        }
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getUpdateBody(versions.keySet());
+        GitlabIssue issue = httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+        markClean(body, versions);
+        return issue;
+    }
+
+    /**
+     * Asynchronous version of {@link #update()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * @return a future of the updated {@link GitlabIssue} instance, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabIssue> updateAsync() {
+        if (!isDirty()) {
+            return CompletableFuture.completedFuture(this);
+        }
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getUpdateBody(versions.keySet());
+        return httpClient.putAsync(String.format("/projects/%d/issues/%d", projectId, iid), body, this)
+                .thenApply(issue -> {
+                    markClean(body, versions);
+                    return issue;
+                });
     }
 
     /**
@@ -197,6 +242,20 @@ public final class GitlabIssue extends GitlabComponent {
         return httpClient.put(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
     }
 
+    /**
+     * Asynchronous version of {@link #close()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/issues.html#edit-issue
+     *
+     * @return a future of the {@link GitlabIssue} after it is closed, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabIssue> closeAsync() {
+        Body body = new Body().putString("state_event", "close");
+        return httpClient.putAsync(String.format("/projects/%d/issues/%d", projectId, iid), body, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to reopen this
      * {@link GitlabIssue}.
@@ -248,6 +307,48 @@ public final class GitlabIssue extends GitlabComponent {
         return mergeRequests;
     }
 
+    /**
+     * Returns the body to create this issue from its current fields.
+     *
+     * @return the body of the POST request
+     */
+    private Body getCreateBody() {
+        return new Body()
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putStringArray("labels", labels)
+                .putString("description", getDescription())
+                .putDate("due_date", dueDate);
+    }
+
+    /**
+     * Returns the body to update the given fields of this issue. Only those
+     * fields are read, so e.g. a description that has not changed is not
+     * decoded.
+     *
+     * @param keys the body keys of the fields to be sent
+     * @return the body of the PUT request
+     */
+    Body getUpdateBody(Set<String> keys) {
+        Body body = new Body();
+        if (keys.contains("title")) {
+            body.putString("title", title);
+        }
+        if (keys.contains("assignee_ids")) {
+            body.putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray());
+        }
+        if (keys.contains("description")) {
+            body.putString("description", getDescription());
+        }
+        if (keys.contains("labels")) {
+            body.putStringArray("labels", labels);
+        }
+        if (keys.contains("due_date")) {
+            body.putDate("due_date", dueDate);
+        }
+        return body;
+    }
+
     /**
      * Returns the project that this issue belongs to.
      *
@@ -284,7 +385,7 @@ public final class GitlabIssue extends GitlabComponent {
      * @return description of this issue
      */
     public String getDescription() {
-        return description;
+        return LazyText.asString(description);
     }
 
     /**
@@ -298,11 +399,12 @@ public final class GitlabIssue extends GitlabComponent {
 
     /**
      * Returns a list of assignees of this issue.
+     * The list cannot be modified, use {@link #withAssignees} to change it.
      *
      * @return a list of assignees
      */
     public List<GitlabUser> getAssignees() {
-        return assignees;
+        return assignees == null ? null : Collections.unmodifiableList(assignees);
     }
 
     /**
@@ -433,11 +535,12 @@ public final class GitlabIssue extends GitlabComponent {
 
     /**
      * Returns the list of labels of this issue.
+     * The list cannot be modified, use {@link #withLabels} to change it.
      *
      * @return a list of labels of this issue
      */
     public List<String> getLabels() {
-        return labels;
+        return labels == null ? null : Collections.unmodifiableList(labels);
     }
 
     /**
@@ -476,6 +579,7 @@ public final class GitlabIssue extends GitlabComponent {
      */
     public GitlabIssue withDescription(String description) {
         this.description = description;
+        markDirty("description");
         return this;
     }
 
@@ -487,6 +591,7 @@ public final class GitlabIssue extends GitlabComponent {
      */
     public GitlabIssue withAssignees(List<GitlabUser> assignees) {
         this.assignees = assignees;
+        markDirty("assignee_ids");
         return this;
     }
 
@@ -498,6 +603,7 @@ public final class GitlabIssue extends GitlabComponent {
      */
     public GitlabIssue withTitle(String title) {
         this.title = title;
+        markDirty("title");
         return this;
     }
 
@@ -509,6 +615,7 @@ public final class GitlabIssue extends GitlabComponent {
      */
     public GitlabIssue withDueDate(LocalDate dueDate) {
         this.dueDate = dueDate;
+        markDirty("due_date");
         return this;
     }
 
@@ -520,6 +627,7 @@ public final class GitlabIssue extends GitlabComponent {
      */
     public GitlabIssue withLabels(List<String> labels) {
         this.labels = labels;
+        markDirty("labels");
         return this;
     }
 
@@ -867,6 +975,19 @@ public final class GitlabIssue extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link ProjectQuery} only reading the given attributes
+         */
+        @Override
+        public ProjectQuery select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns the URL suffix for the HTTP request.
          *
@@ -1277,6 +1398,19 @@ public final class GitlabIssue extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link Query} only reading the given attributes
+         */
+        @Override
+        public Query select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns the URL suffix for the HTTP request
          *
@@ -7,12 +7,17 @@ import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This class serves as instance of Gitlab component Merge Request.
@@ -39,7 +44,9 @@ public final class GitlabMergeRequest extends GitlabComponent {
     @JsonProperty("author")
     private GitlabUser author;
     @JsonProperty("description")
-    private String description;
+    @JsonDeserialize(using = LazyText.Deserializer.class)
+    @JsonSerialize(using = ToStringSerializer.class)
+    private CharSequence description;
     @JsonProperty("state")
     private String state;
     @JsonProperty("assignees")
@@ -148,17 +155,30 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabMergeRequest create() {
-        Body body = new Body()
-                .putString("source_branch", sourceBranch)
-                .putString("target_branch", targetBranch)
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels);
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getCreateBody();
+        GitlabMergeRequest mergeRequest = httpClient
+                .post(String.format("/projects/%d/merge_requests", projectId), body, this);
+        markClean(body, versions);
+        return mergeRequest;
+    }
 
+    /**
+     * Asynchronous version of {@link #create()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * @return a future of the created {@link GitlabMergeRequest} instance, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabMergeRequest> createAsync() {
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getCreateBody();
         return httpClient
-                .post(String.format("/projects/%d/merge_requests", projectId), body,
-                        this);
+                .postAsync(String.format("/projects/%d/merge_requests", projectId), body, this)
+                .thenApply(mergeRequest -> {
+                    markClean(body, versions);
+                    return mergeRequest;
+                });
     }
 
     /**
@@ -176,23 +196,78 @@ public final class GitlabMergeRequest extends GitlabComponent {
 
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
-     * {@link GitlabMergeRequest} based on its current fields.
+     * {@link GitlabMergeRequest} based on its current fields. Only the fields
+     * changed by the {@code with*} setters since the last sync are sent, and
+     * no request is sent if none has changed.
      *
      * @return the updated {@link GitlabMergeRequest} component
      * @throws GitlabException if {@link IOException} occurs or API endpoint fails
      * to give a valid response (response code within [200,400))
      */
     public GitlabMergeRequest update() {
-        Body body = new Body()
-                .putString("target_branch", targetBranch)
-                .putString("title", title)
-                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
-                .putString("description", description)
-                .putStringArray("labels", labels);
+        if (!isDirty()) {
+            return this;
+        }
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getUpdateBody(versions.keySet());
+        GitlabMergeRequest mergeRequest = httpClient
+                .put(String.format("/projects/%d/merge_requests/%d", projectId, iid), body, this);
+        markClean(body, versions);
+        return mergeRequest;
+    }
+
+    /**
+     * Asynchronous version of {@link #update()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * @return a future of the updated {@link GitlabMergeRequest} component, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabMergeRequest> updateAsync() {
+        if (!isDirty()) {
+            return CompletableFuture.completedFuture(this);
+        }
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getUpdateBody(versions.keySet());
+        return httpClient
+                .putAsync(String.format("/projects/%d/merge_requests/%d", projectId, iid), body, this)
+                .thenApply(mergeRequest -> {
+                    markClean(body, versions);
+                    return mergeRequest;
+                });
+    }
+
+    /**
+     * Issues a HTTP request to Gitlab API endpoint to close this
+     * {@link GitlabMergeRequest}.
+     *
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/merge_requests.html#update-mr
+     *
+     * @return {@link GitlabMergeRequest} after it is closed
+     * @throws GitlabException if {@link IOException} occurs or API endpoint fails
+     * to give a valid response (response code within [200,400))
+     */
+    public GitlabMergeRequest close() {
+        Body body = new Body().putString("state_event", "close");
         return httpClient
                 .put(String.format("/projects/%d/merge_requests/%d", projectId, iid), body, this);
     }
 
+    /**
+     * Asynchronous version of {@link #close()}, which does not block the
+     * calling thread while the request is in flight.
+     *
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/merge_requests.html#update-mr
+     *
+     * @return a future of the {@link GitlabMergeRequest} after it is closed, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or API endpoint fails to give a valid response
+     */
+    public CompletableFuture<GitlabMergeRequest> closeAsync() {
+        Body body = new Body().putString("state_event", "close");
+        return httpClient
+                .putAsync(String.format("/projects/%d/merge_requests/%d", projectId, iid), body, this);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to user who participated in
      * this {@link GitlabMergeRequest}.
@@ -265,6 +340,49 @@ public final class GitlabMergeRequest extends GitlabComponent {
                 .format("/projects/%d/merge_requests/%d/unapprove", projectId, iid), null, this);
     }
 
+    /**
+     * Returns the body to create this merge request from its current fields.
+     *
+     * @return the body of the POST request
+     */
+    private Body getCreateBody() {
+        return new Body()
+                .putString("source_branch", sourceBranch)
+                .putString("target_branch", targetBranch)
+                .putString("title", title)
+                .putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray())
+                .putString("description", getDescription())
+                .putStringArray("labels", labels);
+    }
+
+    /**
+     * Returns the body to update the given fields of this merge request. Only those
+     * fields are read, so e.g. a description that has not changed is not
+     * decoded.
+     *
+     * @param keys the body keys of the fields to be sent
+     * @return the body of the PUT request
+     */
+    Body getUpdateBody(Set<String> keys) {
+        Body body = new Body();
+        if (keys.contains("target_branch")) {
+            body.putString("target_branch", targetBranch);
+        }
+        if (keys.contains("title")) {
+            body.putString("title", title);
+        }
+        if (keys.contains("assignee_ids")) {
+            body.putIntArray("assignee_ids", assignees.stream().mapToInt(GitlabUser::getId).toArray());
+        }
+        if (keys.contains("description")) {
+            body.putString("description", getDescription());
+        }
+        if (keys.contains("labels")) {
+            body.putStringArray("labels", labels);
+        }
+        return body;
+    }
+
     /**
      * Returns the project id that this merge request belongs to.
      *
@@ -289,7 +407,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
      * @return description of the merge request
      */
     public String getDescription() {
-        return description;
+        return LazyText.asString(description);
     }
 
     /**
@@ -303,11 +421,12 @@ public final class GitlabMergeRequest extends GitlabComponent {
 
     /**
      * Returns users that are assigned to the merge request.
+     * The list cannot be modified, use {@link #withAssignees} to change it.
      *
      * @return a list of {@link GitlabUser} that are assigned to the merge request
      */
     public List<GitlabUser> getAssignees() {
-        return assignees;
+        return assignees == null ? null : Collections.unmodifiableList(assignees);
     }
 
     /**
@@ -463,11 +582,12 @@ public final class GitlabMergeRequest extends GitlabComponent {
 
     /**
      * Returns all of the labels within this merge request.
+     * The list cannot be modified.
      *
      * @return a list of labels
      */
     public List<String> getLabels() {
-        return labels;
+        return labels == null ? null : Collections.unmodifiableList(labels);
     }
 
     /**
@@ -478,6 +598,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
      */
     public GitlabMergeRequest withTitle(String title) {
         this.title = title;
+        markDirty("title");
         return this;
     }
 
@@ -489,6 +610,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
      */
     public GitlabMergeRequest withDescription(String description) {
         this.description = description;
+        markDirty("description");
         return this;
     }
 
@@ -500,6 +622,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
      */
     public GitlabMergeRequest withAssignees(List<GitlabUser> assignees) {
         this.assignees = assignees;
+        markDirty("assignee_ids");
         return this;
     }
 
@@ -511,6 +634,7 @@ public final class GitlabMergeRequest extends GitlabComponent {
      */
     public GitlabMergeRequest withTargetBranch(String targetBranch) {
         this.targetBranch = targetBranch;
+        markDirty("target_branch");
         return this;
     }
 
@@ -557,6 +681,19 @@ public final class GitlabMergeRequest extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link ProjectQuery} only reading the given attributes
+         */
+        @Override
+        public ProjectQuery select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns a query that matches given project id.
          *
@@ -935,6 +1072,19 @@ public final class GitlabMergeRequest extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link Query} only reading the given attributes
+         */
+        @Override
+        public Query select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns a query that matches given state string.
          *
@@ -9,8 +9,11 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * This class serves as instance of Gitlab component Project.
@@ -90,8 +93,41 @@ public final class GitlabProject extends GitlabComponent {
         this.name = name;
     }
 
+    /**
+     * Returns the project of the given id, from the project cache of the
+     * {@link HttpClient} if it is enabled. A cached project is returned as a
+     * copy, so that changing it does not change the project seen by the other
+     * callers.
+     *
+     * @param httpClient the http client used to make request
+     * @param id         the project id
+     * @return the {@link GitlabProject} of the given id
+     * @throws GitlabException if the cached project cannot be copied
+     */
     static GitlabProject fromId(HttpClient httpClient, int id) {
-        return httpClient.get("/projects/" + id, GitlabProject.class);
+        EntityCache<Integer, GitlabProject> projectCache = httpClient.getProjectCache();
+        if (projectCache == null) {
+            return httpClient.get("/projects/" + id, GitlabProject.class);
+        }
+        GitlabProject cached = projectCache.get(id, key -> httpClient.get("/projects/" + key, GitlabProject.class));
+        try {
+            byte[] fields = JsonUtil.smileWriterFor(GitlabProject.class).writeValueAsBytes(cached);
+            GitlabProject copy = JsonUtil.smileReaderFor(GitlabProject.class).readValue(fields);
+            return copy.withHttpClient(httpClient);
+        } catch (IOException e) {
+            throw new GitlabException("Cached project " + id + " cannot be copied", e);
+        }
+    }
+
+    /**
+     * Removes this project from the project cache of the {@link HttpClient},
+     * if it is enabled, after it is changed or deleted.
+     */
+    private void invalidateCache() {
+        EntityCache<Integer, GitlabProject> projectCache = httpClient.getProjectCache();
+        if (projectCache != null) {
+            projectCache.invalidate(id);
+        }
     }
 
     /**
@@ -332,6 +368,38 @@ public final class GitlabProject extends GitlabComponent {
         return new GitlabMergeRequest.ProjectQuery(httpClient, this);
     }
 
+    /**
+     * Returns a {@link BulkExecutor} that can be used to close, reopen,
+     * label, assign or delete the issues of this project with the given
+     * internal ids.
+     * <p>
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/issues.html#edit-issue
+     * <p>
+     * PUT /projects/:id/issues/:issue_iid
+     *
+     * @param iids the internal ids of the issues
+     * @return a {@link BulkExecutor}
+     */
+    public BulkExecutor bulkIssues(List<Integer> iids) {
+        return new BulkExecutor(httpClient, String.format("/projects/%d/issues", id), iids);
+    }
+
+    /**
+     * Returns a {@link BulkExecutor} that can be used to close, reopen,
+     * label, assign or delete the merge requests of this project with the
+     * given internal ids.
+     * <p>
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/merge_requests.html#update-mr
+     * <p>
+     * PUT /projects/:id/merge_requests/:merge_request_iid
+     *
+     * @param iids the internal ids of the merge requests
+     * @return a {@link BulkExecutor}
+     */
+    public BulkExecutor bulkMergeRequests(List<Integer> iids) {
+        return new BulkExecutor(httpClient, String.format("/projects/%d/merge_requests", id), iids);
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to fork this
      * {@link GitlabProject} into current user's repo.
@@ -358,7 +426,11 @@ public final class GitlabProject extends GitlabComponent {
      * to give a valid response (response code within [200,400))
      */
     public GitlabProject create() {
-        return httpClient.post("/projects", new Body().putString("name", name), this);
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = new Body().putString("name", name);
+        GitlabProject project = httpClient.post("/projects", body, this);
+        markClean(body, versions);
+        return project;
     }
 
     /**
@@ -371,29 +443,69 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject delete() {
         httpClient.delete("/projects/" + id);
+        invalidateCache();
         return this;
     }
 
+    /**
+     * Returns the body to update the given fields of this project. Only those
+     * fields are read.
+     *
+     * @param keys the body keys of the fields to be sent
+     * @return the body of the PUT request
+     */
+    Body getUpdateBody(Set<String> keys) {
+        Body body = new Body();
+        if (keys.contains("name")) {
+            body.putString("name", name);
+        }
+        if (keys.contains("path")) {
+            body.putString("path", path);
+        }
+        if (keys.contains("description")) {
+            body.putString("description", description);
+        }
+        if (keys.contains("default_branch")) {
+            body.putString("default_branch", defaultBranch);
+        }
+        if (keys.contains("visibility")) {
+            body.putString("visibility", visibility);
+        }
+        if (keys.contains("tag_list")) {
+            body.putStringArray("tag_list", tagList);
+        }
+        if (keys.contains("issues_enabled")) {
+            body.putBoolean("issues_enabled", issuesEnabled);
+        }
+        if (keys.contains("jobs_enabled")) {
+            body.putBoolean("jobs_enabled", jobsEnabled);
+        }
+        if (keys.contains("wiki_enabled")) {
+            body.putBoolean("wiki_enabled", wikiEnabled);
+        }
+        return body;
+    }
+
     /**
      * Issues a HTTP request to Gitlab API endpoint to update this
-     * {@link GitlabProject} based on its current fields.
+     * {@link GitlabProject} based on its current fields. Only the fields
+     * changed by the {@code with*} setters since the last sync are sent, and
+     * no request is sent if none has changed.
      *
      * @return the updated {@link GitlabProject} instance
      * @throws GitlabException if {@link IOException} occurs or API endpoint fails
      * to give a valid response (response code within [200,400))
      */
     public GitlabProject update() {
-        Body body = new Body()
-                .putString("name", name)
-                .putString("path", path)
-                .putString("description", description)
-                .putString("default_branch", defaultBranch)
-                .putString("visibility", visibility)
-                .putStringArray("tag_list", tagList)
-                .putBoolean("issues_enabled", issuesEnabled)
-                .putBoolean("jobs_enabled", jobsEnabled)
-                .putBoolean("wiki_enabled", wikiEnabled);
-        return httpClient.put("/projects/" + id, body, this);
+        if (!isDirty()) {
+            return this;
+        }
+        Map<String, Long> versions = getDirtyVersions();
+        Body body = getUpdateBody(versions.keySet());
+        GitlabProject project = httpClient.put("/projects/" + id, body, this);
+        markClean(body, versions);
+        invalidateCache();
+        return project;
     }
 
 
@@ -489,11 +601,12 @@ public final class GitlabProject extends GitlabComponent {
 
     /**
      * Returns tags of this project.
+     * The list cannot be modified, use {@link #withTagList} to change it.
      *
      * @return a list of tags of the project
      */
     public List<String> getTagList() {
-        return tagList;
+        return tagList == null ? null : Collections.unmodifiableList(tagList);
     }
 
     /**
@@ -648,6 +761,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withDescription(String description) {
         this.description = description;
+        markDirty("description");
         return this;
     }
 
@@ -659,6 +773,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withDefaultBranch(String defaultBranch) {
         this.defaultBranch = defaultBranch;
+        markDirty("default_branch");
         return this;
     }
 
@@ -670,6 +785,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withVisibility(String visibility) {
         this.visibility = visibility;
+        markDirty("visibility");
         return this;
     }
 
@@ -681,6 +797,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withTagList(List<String> tagList) {
         this.tagList = tagList;
+        markDirty("tag_list");
         return this;
     }
 
@@ -693,6 +810,7 @@ public final class GitlabProject extends GitlabComponent {
     public GitlabProject withName(String name) {
         Objects.requireNonNull(name);
         this.name = name;
+        markDirty("name");
         return this;
     }
 
@@ -704,6 +822,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withPath(String path) {
         this.path = path;
+        markDirty("path");
         return this;
     }
 
@@ -716,6 +835,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withIssuesEnabled(boolean issuesEnabled) {
         this.issuesEnabled = issuesEnabled;
+        markDirty("issues_enabled");
         return this;
     }
 
@@ -728,6 +848,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withJobsEnabled(boolean jobsEnabled) {
         this.jobsEnabled = jobsEnabled;
+        markDirty("jobs_enabled");
         return this;
     }
 
@@ -740,6 +861,7 @@ public final class GitlabProject extends GitlabComponent {
      */
     public GitlabProject withWikiEnabled(boolean wikiEnabled) {
         this.wikiEnabled = wikiEnabled;
+        markDirty("wiki_enabled");
         return this;
     }
 
@@ -760,6 +882,12 @@ public final class GitlabProject extends GitlabComponent {
      *
      * Build this query with setters and call {@code query()} to execute query.
      *
+     * To scan a large number of projects, use {@link Pagination#keyset(int)}
+     * and iterate over the query, so every page is retrieved in constant
+     * time. Keyset pages are ordered by {@code id} unless
+     * {@link #withOrderBy(String)} gives another order; this is the only
+     * query that accepts a keyset pagination.
+     *
      * <p>
      * Gitlab Web API: https://docs.gitlab.com/ee/api/projects.html#list-all-projects
      * <p>
@@ -771,6 +899,11 @@ public final class GitlabProject extends GitlabComponent {
             super(httpClient, GitlabProject[].class);
         }
 
+        @Override
+        boolean supportsKeyset() {
+            return true;
+        }
+
         /**
          * Returns a query that returns only archived projects if archived is
          * true.
@@ -1070,6 +1203,19 @@ public final class GitlabProject extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link Query} only reading the given attributes
+         */
+        @Override
+        public Query select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns the URL suffix for the HTTP request.
          *
@@ -7,16 +7,31 @@ import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * An abstract class to query subclasses of {@link GitlabComponent}s based on
  * query conditions and parameters specified by users.
  *
+ * Call {@code query()} to retrieve a single page, or iterate over the query
+ * (see {@link #iterator()} and {@link #stream()}) to lazily walk through every
+ * page of the result.
+ *
  * @param <T> the expected {@link GitlabComponent} as the query result
  */
-abstract class GitlabQuery<T extends GitlabComponent> {
+abstract class GitlabQuery<T extends GitlabComponent> implements Iterable<T> {
     /**
      * The date formatter specifically for the Gitlab API.
      */
@@ -37,6 +52,14 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      * Tuple<name, Pair<value, URLEncoder.encode(value, "UTF-8")>>
      */
     private final List<Pair<String, Pair<String, String>>> params = new ArrayList<Pair<String, Pair<String, String>>>();
+    /**
+     * The attributes to be read from the response, or null to read every attribute
+     */
+    private FieldSelection selection;
+    /**
+     * Whether the pages are retrieved by keyset, see {@link Pagination#keyset(int)}
+     */
+    private boolean keyset;
 
     /**
      * Construct the query by the Gitlab httpClienturation and the expected type for the query response
@@ -68,9 +91,31 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      *
      * @param pagination pagination object that defines page number and size
      * @return this {@link GitlabQuery} with the given pagination object
+     * @throws IllegalArgumentException if the pagination is keyset-based and this query does not support it,
+     *                                  see {@link Pagination#keyset(int)}
      */
     public abstract GitlabQuery<T> withPagination(Pagination pagination);
 
+    /**
+     * Only read the given attributes of the components, plus their
+     * identifying attributes {@code id}, {@code iid} and {@code project_id}.
+     * The other attributes are skipped by the streaming parser without being
+     * decoded, and are left null (or 0 or false) in the components, so a
+     * large scan only allocates what it reads, e.g.
+     * <pre>
+     * project.getIssuesQuery().select("state", "labels", "updated_at").stream()
+     * </pre>
+     *
+     * The response from Gitlab is the same, so this saves memory and parse
+     * time, not bandwidth. The components can still be updated, since only
+     * the attributes changed by the {@code with*} setters are sent.
+     *
+     * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+     * @return this {@link GitlabQuery} only reading the given attributes
+     * @throws NullPointerException if any of the names is null
+     */
+    public abstract GitlabQuery<T> select(String... fields);
+
 
     /**
      * Issue a HTTP request to perform the query
@@ -79,11 +124,132 @@ abstract class GitlabQuery<T extends GitlabComponent> {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     public List<T> query() {
-        List<T> components = httpClient.getList(getEntireUrl(), type);
+        List<T> components = httpClient.getList(getEntireUrl(), type, selection);
         components.forEach(this::bind);
         return components;
     }
 
+    /**
+     * Issue an asynchronous HTTP request to perform the query, without
+     * blocking the calling thread while the request is in flight.
+     *
+     * @return a future of the list of component retrieved from the query, which completes exceptionally
+     * with {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    public CompletableFuture<List<T>> queryAsync() {
+        return httpClient.getListAsync(getEntireUrl(), type, selection).thenApply(components -> {
+            components.forEach(this::bind);
+            return components;
+        });
+    }
+
+    /**
+     * Returns an iterator over every component matching this query, starting
+     * from the page given by the pagination (the first page by default).
+     *
+     * Pages are fetched lazily by following the {@code Link} (or
+     * {@code X-Next-Page}) response header, and only the page being consumed
+     * is held by the iterator, so walking a large collection runs in
+     * constant memory. Each call to this method starts a new walk.
+     *
+     * @return an iterator over every component matching this query
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     * when fetching a page
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new PageIterator(getEntireUrl());
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over every component matching this
+     * query. Pages are fetched on demand as the stream is consumed, see
+     * {@link #iterator()}.
+     *
+     * @return a stream of every component matching this query
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     * when fetching a page
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Issue HTTP requests to retrieve every page of this query, starting from
+     * the page given by the pagination (the first page by default), with at
+     * most {@code concurrency} requests in flight.
+     *
+     * The first page is fetched alone to read the {@code X-Total-Pages}
+     * response header, then the remaining pages are sent asynchronously on
+     * the dispatcher of the client, a new one as soon as one completes, so no
+     * thread is created for them. The components are returned in page order. If Gitlab does not report
+     * the total number of pages (e.g. for collections of more than 10,000
+     * items), the remaining pages are fetched one at a time instead.
+     *
+     * @param concurrency the maximum number of pages to be fetched at once
+     * @return a list of every component matching this query, in page order
+     * @throws IllegalArgumentException if concurrency is not positive
+     * @throws GitlabException          if {@link IOException} occurs or the response code is not in [200,400)
+     *                                  when fetching any of the pages
+     */
+    public List<T> queryAll(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("cannot have non-positive concurrency");
+        }
+        HttpClient.Page<T> first = httpClient.getPage(getEntireUrl(), type, selection);
+        first.getComponents().forEach(this::bind);
+        List<T> components = new ArrayList<>(first.getComponents());
+        int firstPage = first.getPageNumber() > 0 ? first.getPageNumber() : 1;
+        if (first.getTotalPages() == 0) {
+            String nextUrl = getNextUrl(first);
+            if (nextUrl != null) {
+                new PageIterator(nextUrl).forEachRemaining(components::add);
+            }
+            return components;
+        }
+        int remaining = first.getTotalPages() - firstPage;
+        if (remaining <= 0) {
+            return components;
+        }
+        List<CompletableFuture<List<T>>> pages = new ArrayList<>(remaining);
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicBoolean failed = new AtomicBoolean();
+        try {
+            for (int pageNumber = firstPage + 1; pageNumber <= first.getTotalPages(); pageNumber++) {
+                permits.acquire();
+                if (failed.get()) {
+                    // no more pages are sent once one has failed
+                    break;
+                }
+                CompletableFuture<List<T>> page = httpClient.getListAsync(getPageUrl(pageNumber), type, selection);
+                page.whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        failed.set(true);
+                    }
+                    permits.release();
+                });
+                pages.add(page);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GitlabException(e);
+        }
+        try {
+            for (CompletableFuture<List<T>> page : pages) {
+                List<T> pageComponents = page.join();
+                pageComponents.forEach(this::bind);
+                components.addAll(pageComponents);
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GitlabException) {
+                throw (GitlabException) e.getCause();
+            }
+            throw new GitlabException(e.getCause());
+        }
+        return components;
+    }
+
     /**
      * Get the entire url of the query
      *
@@ -93,6 +259,38 @@ abstract class GitlabQuery<T extends GitlabComponent> {
         return getTailUrl() + toString();
     }
 
+    /**
+     * Get the entire url of the given page of this query, replacing the page
+     * number set by the pagination if any
+     *
+     * @param pageNumber the page number
+     * @return entire url, e.g. /projects?owned=true&amp;page=2
+     */
+    String getPageUrl(int pageNumber) {
+        StringBuilder builder = new StringBuilder(getTailUrl());
+        appendParams(builder, "page");
+        builder.append(builder.indexOf("?") < 0 ? '?' : '&');
+        builder.append("page=").append(pageNumber);
+        return builder.toString();
+    }
+
+    /**
+     * Get the entire url of the page after the given one, or null if it is
+     * the last page
+     *
+     * @param page the page just fetched
+     * @return entire url of the next page, or null if there is none
+     */
+    private String getNextUrl(HttpClient.Page<T> page) {
+        if (page.getNextLink() != null) {
+            return page.getNextLink();
+        }
+        if (page.getNextPage() > 0) {
+            return getPageUrl(page.getNextPage());
+        }
+        return null;
+    }
+
     protected Class<T[]> getType() {
         return type;
     }
@@ -188,17 +386,49 @@ abstract class GitlabQuery<T extends GitlabComponent> {
     }
 
     /**
-     * add a pagination to the query
+     * Tests if the endpoint of this query supports keyset pagination
+     *
+     * @return true if the endpoint supports keyset pagination
+     */
+    boolean supportsKeyset() {
+        return false;
+    }
+
+    /**
+     * add a pagination to the query. A keyset pagination is ordered by
+     * {@code id} unless another order is given, since Gitlab rejects it with
+     * the default order.
      *
      * @param pagination name of the parameter
      * @return GitlabQuery with the new pagination added
+     * @throws IllegalArgumentException if the pagination is keyset-based and the endpoint does not support it
      */
     protected GitlabQuery<T> appendPagination(Pagination pagination) {
+        if (pagination.isKeyset()) {
+            if (!supportsKeyset()) {
+                throw new IllegalArgumentException("cannot have keyset pagination on " + getTailUrl());
+            }
+            keyset = true;
+            appendString("pagination", "keyset");
+            appendInt("per_page", pagination.getPageSize());
+            return this;
+        }
         appendInt("per_page", pagination.getPageSize());
         appendInt("page", pagination.getPageNumber());
         return this;
     }
 
+    /**
+     * set the attributes to be read from the response
+     *
+     * @param fields the JSON names of the attributes to be read
+     * @return GitlabQuery with the given attributes selected
+     */
+    protected GitlabQuery<T> selectFields(String... fields) {
+        selection = new FieldSelection(fields);
+        return this;
+    }
+
     /**
      * Returns the string in the format URL query parameters
      * e.g. {@code ?key1=value1&key2=value2}
@@ -208,19 +438,76 @@ abstract class GitlabQuery<T extends GitlabComponent> {
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
+        appendParams(builder, null);
+        return builder.toString();
+    }
 
+    /**
+     * Append the URL query parameters to the given builder, which is either
+     * empty or holds the tail url only
+     *
+     * @param builder  the builder to append to
+     * @param skipName the name of the parameter to be left out, or null
+     */
+    private void appendParams(StringBuilder builder, String skipName) {
+        boolean first = true;
+        boolean ordered = false;
         for (Pair<String, Pair<String, String>> param : params) {
-            if (builder.length() == 0) {
-                builder.append('?');
-            } else {
-                builder.append('&');
+            ordered |= param.first.equals("order_by");
+            if (param.first.equals(skipName)) {
+                continue;
             }
+            builder.append(first ? '?' : '&');
+            first = false;
             builder.append(param.first);
             builder.append('=');
             builder.append(param.second.second);
         }
+        if (keyset && !ordered) {
+            builder.append(first ? '?' : '&').append("order_by=id");
+        }
+    }
 
-        return builder.toString();
+    /**
+     * The iterator that walks through every page of this query lazily.
+     */
+    private final class PageIterator implements Iterator<T> {
+        /**
+         * The url of the next page to be fetched, or null if there is none
+         */
+        private String nextUrl;
+        /**
+         * The iterator over the page being consumed
+         */
+        private Iterator<T> current = Collections.emptyIterator();
+
+        /**
+         * Create an iterator starting from the page of the given url
+         *
+         * @param firstUrl the entire url of the first page to be fetched
+         */
+        private PageIterator(String firstUrl) {
+            this.nextUrl = firstUrl;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && nextUrl != null) {
+                HttpClient.Page<T> page = httpClient.getPage(nextUrl, type, selection);
+                page.getComponents().forEach(GitlabQuery.this::bind);
+                current = page.getComponents().iterator();
+                nextUrl = getNextUrl(page);
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
     }
 
     /**
@@ -111,6 +111,34 @@ public final class GitlabUser extends GitlabComponent {
         return id == that.id;
     }
 
+    /**
+     * Tests if the given {@link GitlabUser} has the same attributes as this
+     * one, which unlike {@link #equals(Object)} also compares everything
+     * besides the user id. Used by {@link UserInterner} to tell whether an
+     * interned user is still up to date.
+     *
+     * @param that the user to be compared
+     * @return true if every attribute of the given user equals this one's
+     */
+    boolean hasSameContent(GitlabUser that) {
+        return id == that.id &&
+                       Objects.equals(username, that.username) &&
+                       Objects.equals(name, that.name) &&
+                       Objects.equals(state, that.state) &&
+                       Objects.equals(avatarUrl, that.avatarUrl) &&
+                       Objects.equals(webUrl, that.webUrl) &&
+                       Objects.equals(createdAt, that.createdAt) &&
+                       Objects.equals(bio, that.bio) &&
+                       Objects.equals(bioHtml, that.bioHtml) &&
+                       Objects.equals(publicEmail, that.publicEmail) &&
+                       Objects.equals(skype, that.skype) &&
+                       Objects.equals(linkedin, that.linkedin) &&
+                       Objects.equals(twitter, that.twitter) &&
+                       Objects.equals(websiteUrl, that.websiteUrl) &&
+                       Objects.equals(organization, that.organization) &&
+                       Objects.equals(jobTitle, that.jobTitle);
+    }
+
     /**
      * Returns a {@link GitlabProject.UserQuery} that can be used to query
      * projects accessible by current user.
@@ -312,6 +340,19 @@ public final class GitlabUser extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link Query} only reading the given attributes
+         */
+        @Override
+        public Query select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns a query that matches given username.
          *
@@ -405,6 +446,19 @@ public final class GitlabUser extends GitlabComponent {
             return this;
         }
 
+        /**
+         * Returns a query that only reads the given attributes of the
+         * components, see {@link GitlabQuery#select(String...)}.
+         *
+         * @param fields the JSON names of the attributes to be read, e.g. {@code updated_at}
+         * @return this {@link ProjectQuery} only reading the given attributes
+         */
+        @Override
+        public ProjectQuery select(String... fields) {
+            selectFields(fields);
+            return this;
+        }
+
         /**
          * Returns a query that searches users against keyword.
          *
@@ -1,32 +1,47 @@
 package org.gitlab.api;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.databind.ObjectReader;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import org.apache.commons.io.IOUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * This class is used to send HTTP request to the with the given Gitlab httpClient,
  * and then deserialize the JSON response to the corresponding {@link GitlabComponent} class.
  */
 class HttpClient {
-    /**
-     * The Jackson Mapper
-     */
-    private static final ObjectMapper MAPPER = new ObjectMapper()
-            .registerModule(new JavaTimeModule())
-            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     /**
      * The default media type to be sent in PUT and POST
      */
@@ -35,13 +50,77 @@ class HttpClient {
      * The empty body to be used for PUT and POST
      */
     private static final RequestBody EMPTY_BODY = RequestBody.create("", null);
+    /**
+     * The response code of a successful response
+     */
+    private static final int HTTP_OK = 200;
+    /**
+     * The response code of a conditional GET whose cached response is still valid
+     */
+    private static final int HTTP_NOT_MODIFIED = 304;
+    /**
+     * The response code of a request rejected by the rate limit
+     */
+    static final int HTTP_TOO_MANY_REQUESTS = 429;
+    /**
+     * The maximum number of times a request is sent while it keeps being rejected by the rate limit
+     */
+    private static final int MAX_THROTTLED_ATTEMPTS = 10;
+    /**
+     * The pattern to find the next page url in a {@code Link} response header,
+     * e.g. {@code <https://gitlab.com/api/v4/projects?page=2>; rel="next"}
+     */
+    private static final Pattern NEXT_LINK_PATTERN = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"next\"");
     /**
      * The internal OkHttpClient
      */
     private final OkHttpClient client;
     private final String apiPrefix;
-    private final String authHeaderName;
-    private final String authHeaderValue;
+    /**
+     * The credentials of the client, each with its own rate limit
+     */
+    private final List<Credential> credentials;
+    /**
+     * The credential used by PUT, POST and DELETE requests
+     */
+    private final Credential writeCredential;
+    /**
+     * The cache of projects shared by components, or null if disabled
+     */
+    private final EntityCache<Integer, GitlabProject> projectCache;
+    /**
+     * The cache of GET responses for conditional requests, or null if disabled
+     */
+    private final ETagCache etagCache;
+    /**
+     * Whether requests are paced and queued by the rate limit
+     */
+    private final boolean rateLimitScheduling;
+    /**
+     * The response bodies of the GET requests in flight by url, or null if request coalescing is disabled
+     */
+    private final ConcurrentMap<String, CompletableFuture<byte[]>> inFlight;
+    /**
+     * The policy of retrying failed requests
+     */
+    private final RetryPolicy retryPolicy;
+    /**
+     * The budget that keeps retries within a fraction of the requests
+     */
+    private final RetryBudget retryBudget;
+    /**
+     * The listener of the metrics of every request, or null if metrics are disabled
+     */
+    private final MetricsListener metricsListener;
+    /**
+     * The encoded path of {@link #apiPrefix}, stripped from urls to get the endpoint of a request
+     */
+    private final String apiPath;
+    /**
+     * The attributes of the readers of the responses, e.g. the interner of the embedded users shared by every
+     * response
+     */
+    private final Map<Object, Object> readerAttributes;
 
     /**
      * Initialize the {@link HttpClient} based on timeouts, proxy, api endpoint namespace as well as the authentication.
@@ -49,52 +128,141 @@ class HttpClient {
      * @param gitlabAPIClient the {@link GitlabAPIClient} for creating this {@link HttpClient}
      */
     HttpClient(GitlabAPIClient gitlabAPIClient) {
-        client = new OkHttpClient.Builder()
+        OkHttpClient.Builder builder;
+        if (gitlabAPIClient.getSharedTransport() != null) {
+            // newBuilder keeps the connection pool and the dispatcher of the shared client
+            builder = gitlabAPIClient.getSharedTransport().getHttpClient().client.newBuilder();
+        } else {
+            Dispatcher dispatcher = new Dispatcher();
+            dispatcher.setMaxRequests(gitlabAPIClient.getMaxRequests());
+            dispatcher.setMaxRequestsPerHost(gitlabAPIClient.getMaxRequestsPerHost());
+            builder = new OkHttpClient.Builder()
+                    .connectionPool(new ConnectionPool(gitlabAPIClient.getMaxIdleConnections(),
+                            gitlabAPIClient.getKeepAliveMillis(), TimeUnit.MILLISECONDS))
+                    .dispatcher(dispatcher)
+                    .protocols(gitlabAPIClient.isHttp2() ?
+                            Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1) :
+                            Collections.singletonList(Protocol.HTTP_1_1));
+        }
+        client = builder
                 .connectTimeout(gitlabAPIClient.getConnectionTimeout(), TimeUnit.MILLISECONDS)
                 .readTimeout(gitlabAPIClient.getReadTimeout(), TimeUnit.MILLISECONDS)
                 .writeTimeout(gitlabAPIClient.getReadTimeout(), TimeUnit.MILLISECONDS)
                 .proxy(gitlabAPIClient.getProxy())
                 .build();
         apiPrefix = gitlabAPIClient.getEndpoint() + gitlabAPIClient.getApiNamespace();
+        rateLimitScheduling = gitlabAPIClient.isRateLimitScheduling();
+        List<Credential> list = new ArrayList<>();
         if (gitlabAPIClient.getAuthMethod() != null) {
-            authHeaderName = gitlabAPIClient.getAuthMethod().getHeaderName();
-            authHeaderValue = String.format(gitlabAPIClient.getAuthMethod().getHeaderFormat(), gitlabAPIClient.getToken());
-        } else {
-            authHeaderName = null;
-            authHeaderValue = null;
+            list.add(new Credential(null, gitlabAPIClient.getAuthMethod(), gitlabAPIClient.getToken(),
+                    rateLimitScheduling));
+        }
+        for (Map.Entry<String, String> token : gitlabAPIClient.getAccessTokens().entrySet()) {
+            list.add(new Credential(token.getKey(), AuthMethod.ACCESS_TOKEN, token.getValue(), rateLimitScheduling));
+        }
+        if (list.isEmpty()) {
+            // anonymous requests still have a rate limit
+            list.add(new Credential(null, null, null, rateLimitScheduling));
         }
+        credentials = Collections.unmodifiableList(list);
+        writeCredential = credentials.get(0);
+        projectCache = gitlabAPIClient.getProjectCache();
+        etagCache = gitlabAPIClient.getConditionalCacheSize() > 0 ?
+                new ETagCache(gitlabAPIClient.getConditionalCacheSize(), gitlabAPIClient.getConditionalCacheBytes()) : null;
+        retryPolicy = gitlabAPIClient.getRetryPolicy();
+        retryBudget = new RetryBudget(retryPolicy);
+        inFlight = gitlabAPIClient.isRequestCoalescing() ? new ConcurrentHashMap<>() : null;
+        metricsListener = gitlabAPIClient.getMetricsListener() == MetricsListener.none() ?
+                null : gitlabAPIClient.getMetricsListener();
+        HttpUrl apiUrl = HttpUrl.parse(apiPrefix);
+        apiPath = apiUrl == null ? "" : apiUrl.encodedPath();
+        Map<Object, Object> attributes = new HashMap<>();
+        if (gitlabAPIClient.isUserInterning()) {
+            attributes.put(UserInterner.class, UserInterner.weak());
+        }
+        if (gitlabAPIClient.isLazyText()) {
+            attributes.put(LazyText.class, Boolean.TRUE);
+        }
+        readerAttributes = Collections.unmodifiableMap(attributes);
+    }
 
+    /**
+     * Initialize a view of the given {@link HttpClient} which shares everything with it, except that the PUT, POST
+     * and DELETE requests are sent with the access token of the given name.
+     *
+     * @param httpClient the {@link HttpClient} to share
+     * @param writeToken the name of the access token for PUT, POST and DELETE requests
+     * @throws IllegalArgumentException if there is no access token of the given name
+     */
+    HttpClient(HttpClient httpClient, String writeToken) {
+        client = httpClient.client;
+        apiPrefix = httpClient.apiPrefix;
+        credentials = httpClient.credentials;
+        writeCredential = credentials.stream()
+                .filter(credential -> writeToken.equals(credential.name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No access token named " + writeToken));
+        projectCache = httpClient.projectCache;
+        etagCache = httpClient.etagCache;
+        rateLimitScheduling = httpClient.rateLimitScheduling;
+        retryPolicy = httpClient.retryPolicy;
+        retryBudget = httpClient.retryBudget;
+        inFlight = httpClient.inFlight;
+        metricsListener = httpClient.metricsListener;
+        apiPath = httpClient.apiPath;
+        readerAttributes = httpClient.readerAttributes;
+    }
+
+    /**
+     * Get the cache of projects shared by the components attached to this {@link HttpClient}
+     *
+     * @return the cache of projects, or null if disabled
+     */
+    EntityCache<Integer, GitlabProject> getProjectCache() {
+        return projectCache;
     }
 
     /**
      * Create a new object of the given type from the JSON response
      *
-     * @param response the JSON response
+     * @param response the JSON response stream
      * @param type     the type for deserialization
      * @param <T>      the type
      * @return the newly created {@link GitlabComponent}
      * @throws GitlabException if {@link IOException} occurs
      */
-    private static <T> T create(String response, Class<T> type) {
+    private <T> T create(InputStream response, Class<T> type) {
         try {
-            return MAPPER.readValue(response, type);
+            return readerFor(type).readValue(response);
         } catch (IOException e) {
             throw new GitlabException("Response cannot be parsed", e);
         }
     }
 
+    /**
+     * Returns the reader for the given type with the attributes of this client, i.e. the interner of the embedded
+     * users if shared by every response, and whether the large texts are kept as {@link LazyText}
+     *
+     * @param type the type to be read
+     * @return the reader for the given type
+     */
+    private ObjectReader readerFor(Class<?> type) {
+        ObjectReader reader = JsonUtil.readerFor(type);
+        return readerAttributes.isEmpty() ? reader : reader.withAttributes(readerAttributes);
+    }
+
     /**
      * Update a given object from the JSON response
      *
-     * @param response the JSON response
+     * @param response the JSON response stream
      * @param object   the object to be updated
      * @param <T>      the type
      * @return the updated object
      * @throws GitlabException if {@link IOException} occurs
      */
-    private static <T> T update(String response, T object) {
+    private <T> T update(InputStream response, T object) {
         try {
-            return MAPPER.readerForUpdating(object).readValue(response);
+            return readerFor(object.getClass()).withValueToUpdate(object).readValue(response);
         } catch (IOException e) {
             throw new GitlabException("Response cannot be parsed", e);
         }
@@ -105,17 +273,47 @@ class HttpClient {
      * return the entire API url based on {@link #apiPrefix}
      * e.g. https://gitlab.com/api/v4/projects/1234
      *
+     * An entire url, e.g. taken from a {@code Link} header, is only accepted under {@link #apiPrefix}, so that the
+     * credentials are never sent to another host.
+     *
      * @param tailUrl the API tail Url, e.g.  /projects/1234
      * @return the entire API url based on apiPrefix
      * e.g. https://gitlab.com/api/v4/projects/1234
+     * @throws GitlabException if the tail url is an entire url that is not under the API prefix
      */
     private String getAPIUrl(String tailUrl) {
+        if (tailUrl.startsWith("http://") || tailUrl.startsWith("https://")) {
+            // already an entire url, e.g. taken from a Link header
+            if (!isUnderApiPrefix(tailUrl)) {
+                throw new GitlabException("Refusing to send credentials to " + tailUrl + " outside " + apiPrefix);
+            }
+            return tailUrl;
+        }
         if (!tailUrl.startsWith("/")) {
             tailUrl = "/" + tailUrl;
         }
         return apiPrefix + tailUrl;
     }
 
+    /**
+     * Tests if the given entire url is the API prefix or below it, i.e. the prefix is followed by the end of the
+     * url, a path segment or a query, so that e.g. {@code https://gitlab.com.evil.com} is not under
+     * {@code https://gitlab.com}
+     *
+     * @param url the entire url
+     * @return true if the url is under {@link #apiPrefix}
+     */
+    private boolean isUnderApiPrefix(String url) {
+        if (!url.startsWith(apiPrefix)) {
+            return false;
+        }
+        if (url.length() == apiPrefix.length() || apiPrefix.endsWith("/")) {
+            return true;
+        }
+        char next = url.charAt(apiPrefix.length());
+        return next == '/' || next == '?';
+    }
+
     /**
      * Attach a httpClient to a given {@link GitlabComponent} then return it
      *
@@ -128,6 +326,21 @@ class HttpClient {
         return component;
     }
 
+    /**
+     * Read the entire JSON response into bytes
+     *
+     * @param response the JSON response stream
+     * @return the bytes of the response
+     * @throws GitlabException if {@link IOException} occurs
+     */
+    private static byte[] toByteArray(InputStream response) {
+        try {
+            return IOUtils.toByteArray(response);
+        } catch (IOException e) {
+            throw new GitlabException("Response cannot be read", e);
+        }
+    }
+
     /**
      * Given the Gitlab httpClienturation, the endpoint tail url and the expected return type,
      * issue a GET request to the endpoint and deserialize the JSON response to a object with the given type
@@ -139,7 +352,7 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T get(String tailUrl, Class<T> type) {
-        return attachHttpClient(create(request(tailUrl, Method.GET, null), type));
+        return coalesce(tailUrl, responseBody -> attachHttpClient(create(responseBody, type)));
     }
 
     /**
@@ -153,7 +366,83 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> List<T> getList(String tailUrl, Class<T[]> type) {
-        return createList(request(tailUrl, Method.GET, null), type);
+        return getList(tailUrl, type, null);
+    }
+
+    /**
+     * Same as {@link #getList(String, Class)}, but only reads the attributes of the given selection
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param type      the class of the expected result
+     * @param selection the attributes to be read, or null to read every attribute
+     * @param <T>       the type
+     * @return a list of {@link GitlabComponent} with the given type
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> List<T> getList(String tailUrl, Class<T[]> type, FieldSelection selection) {
+        return coalesce(tailUrl, responseBody -> createList(responseBody, type, selection));
+    }
+
+    /**
+     * Issue a GET request to the endpoint and parse the response with the given parser. If request coalescing is
+     * enabled and an identical GET is already in flight, no request is sent and the response body of that GET is
+     * parsed instead, so that every caller still gets its own objects.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param parser  the parser of the response body
+     * @param <R>     the type of the result
+     * @return the parsed result
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> R coalesce(String tailUrl, Function<InputStream, R> parser) {
+        if (inFlight == null) {
+            return request(tailUrl, Method.GET, null, (response, responseBody) -> parser.apply(responseBody));
+        }
+        String url = getAPIUrl(tailUrl);
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        CompletableFuture<byte[]> leader = inFlight.putIfAbsent(url, future);
+        if (leader == null) {
+            byte[] bytes;
+            try {
+                bytes = request(url, Method.GET, null, (response, responseBody) -> toByteArray(responseBody));
+                future.complete(bytes);
+            } catch (RuntimeException e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(url, future);
+            }
+            return parser.apply(new ByteArrayInputStream(bytes));
+        }
+        try {
+            return parser.apply(new ByteArrayInputStream(leader.join()));
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new GitlabException(e.getCause());
+        }
+    }
+
+    /**
+     * Given the endpoint tail url (or an entire url taken from a previous page) and the expected array type,
+     * issue a GET request to the endpoint and deserialize one page of the JSON response together with
+     * the pagination headers
+     *
+     * @param tailUrl   the tail url of the endpoint, or the entire url of the page
+     * @param type      the array class of the expected result
+     * @param selection the attributes to be read, or null to read every attribute
+     * @param <T>       the type
+     * @return a {@link Page} of {@link GitlabComponent}s with the given type
+     * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    <T extends GitlabComponent> Page<T> getPage(String tailUrl, Class<T[]> type, FieldSelection selection) {
+        return request(tailUrl, Method.GET, null, (response, responseBody) -> new Page<>(
+                createList(responseBody, type, selection),
+                parseNextLink(response.header("Link")),
+                parseIntHeader(response.header("X-Page")),
+                parseIntHeader(response.header("X-Next-Page")),
+                parseIntHeader(response.header("X-Total-Pages"))));
     }
 
     /**
@@ -168,7 +457,8 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T put(String tailUrl, Body body, T component) {
-        return attachHttpClient(update(request(tailUrl, Method.PUT, body), component));
+        return request(tailUrl, Method.PUT, body,
+                (response, responseBody) -> attachHttpClient(update(responseBody, component)));
     }
 
     /**
@@ -183,7 +473,85 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     <T extends GitlabComponent> T post(String tailUrl, Body body, T component) {
-        return attachHttpClient(update(request(tailUrl, Method.POST, body), component));
+        return request(tailUrl, Method.POST, body,
+                (response, responseBody) -> attachHttpClient(update(responseBody, component)));
+    }
+
+    /**
+     * Asynchronous version of {@link #get(String, Class)}
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param type    the class of the expected result
+     * @param <T>     the type
+     * @return a future of the {@link GitlabComponent} with the given type
+     */
+    <T extends GitlabComponent> CompletableFuture<T> getAsync(String tailUrl, Class<T> type) {
+        return requestAsync(tailUrl, Method.GET, null,
+                (response, responseBody) -> attachHttpClient(create(responseBody, type)));
+    }
+
+    /**
+     * Asynchronous version of {@link #getList(String, Class, FieldSelection)}
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param type      the class of the expected result
+     * @param selection the attributes to be read, or null to read every attribute
+     * @param <T>       the type
+     * @return a future of the list of {@link GitlabComponent} with the given type
+     */
+    <T extends GitlabComponent> CompletableFuture<List<T>> getListAsync(String tailUrl, Class<T[]> type,
+                                                                        FieldSelection selection) {
+        return requestAsync(tailUrl, Method.GET, null,
+                (response, responseBody) -> createList(responseBody, type, selection));
+    }
+
+    /**
+     * Asynchronous version of {@link #put(String, Body, GitlabComponent)}
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param body      the body of the PUT request
+     * @param component the component to be updated in place
+     * @param <T>       the type
+     * @return a future of the {@code component} after being updated
+     */
+    <T extends GitlabComponent> CompletableFuture<T> putAsync(String tailUrl, Body body, T component) {
+        return requestAsync(tailUrl, Method.PUT, body,
+                (response, responseBody) -> attachHttpClient(update(responseBody, component)));
+    }
+
+    /**
+     * Asynchronous version of {@link #post(String, Body, GitlabComponent)}
+     *
+     * @param tailUrl   the tail url of the endpoint
+     * @param body      the body of the POST request
+     * @param component the component to be updated in place
+     * @param <T>       the type
+     * @return a future of the {@code component} after being updated
+     */
+    <T extends GitlabComponent> CompletableFuture<T> postAsync(String tailUrl, Body body, T component) {
+        return requestAsync(tailUrl, Method.POST, body,
+                (response, responseBody) -> attachHttpClient(update(responseBody, component)));
+    }
+
+    /**
+     * Asynchronously issue a PUT request to the endpoint, ignoring the JSON response
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param body    the body of the PUT request
+     * @return a future completed when the request succeeds
+     */
+    CompletableFuture<Void> putAsync(String tailUrl, Body body) {
+        return requestAsync(tailUrl, Method.PUT, body, (response, responseBody) -> null);
+    }
+
+    /**
+     * Asynchronous version of {@link #delete(String)}
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @return a future completed when the request succeeds
+     */
+    CompletableFuture<Void> deleteAsync(String tailUrl) {
+        return requestAsync(tailUrl, Method.DELETE, null, (response, responseBody) -> null);
     }
 
     /**
@@ -194,21 +562,43 @@ class HttpClient {
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
     void delete(String tailUrl) {
-        request(tailUrl, Method.DELETE, null);
+        request(tailUrl, Method.DELETE, null, (response, responseBody) -> null);
     }
 
     /**
      * Create a list based of {@link GitlabComponent} based on the JSON response, and array type and attach the httpClient
      *
-     * @param response the JSON response
+     * @param response the JSON response stream
      * @param type     the array type for deserialization
      * @param <T>      the type
      * @return the list of {@link GitlabComponent} with httpClient attached
      * @throws GitlabException if {@link IOException} occurs
      */
-    <T extends GitlabComponent> List<T> createList(String response, Class<T[]> type) {
+    <T extends GitlabComponent> List<T> createList(InputStream response, Class<T[]> type) {
+        return createList(response, type, null);
+    }
+
+    /**
+     * Same as {@link #createList(InputStream, Class)}, but only reads the attributes of the given selection, skipping
+     * the others in the token stream
+     *
+     * @param response  the JSON response stream
+     * @param type      the array type for deserialization
+     * @param selection the attributes to be read, or null to read every attribute
+     * @param <T>       the type
+     * @return the list of {@link GitlabComponent} with httpClient attached
+     * @throws GitlabException if {@link IOException} occurs
+     */
+    <T extends GitlabComponent> List<T> createList(InputStream response, Class<T[]> type, FieldSelection selection) {
         try {
-            T[] array = MAPPER.readValue(response, type);
+            T[] array;
+            if (selection == null) {
+                array = readerFor(type).readValue(response);
+            } else {
+                try (JsonParser parser = selection.filter(JsonUtil.MAPPER.getFactory().createParser(response))) {
+                    array = readerFor(type).readValue(parser);
+                }
+            }
             if (array == null) {
                 return Collections.emptyList();
             }
@@ -221,16 +611,237 @@ class HttpClient {
     }
 
     /**
-     * Issue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method the the body data
+     * Issue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method the the body data,
+     * and hand the successful response to the given handler
      *
      * @param tailUrl the tail url of the endpoint
      * @param method  method he HTTP method to be used in this request
      * @param body    the body to be used
-     * @return the JSON response
+     * @param handler the handler to turn the successful response into the result
+     * @param <R>     the type of the result
+     * @return the result produced by the handler
      * @throws GitlabException if {@link IOException} occurs or the response code is not in [200,400)
      */
-    private String request(String tailUrl, Method method, Body body) {
+    private <R> R request(String tailUrl, Method method, Body body, ResponseHandler<R> handler) {
+        Request request = buildRequest(tailUrl, method, body);
+        retryBudget.onRequest();
+        int throttled = 1;
+        RateLimitScheduler rateLimitScheduler = getRateLimitScheduler(request);
+        for (int attempt = 1; ; attempt++) {
+            long queuedAt = System.nanoTime();
+            rateLimitScheduler.acquire();
+            RequestTimer timer = startTimer(queuedAt);
+            try (Response response = client.newCall(request).execute()) {
+                rateLimitScheduler.update(response);
+                if (timer != null) {
+                    timer.onFirstByte();
+                }
+                if (isThrottled(response, throttled)) {
+                    // wait in the queue of the scheduler and try again, which is not a failed attempt
+                    report(request, response.code(), timer);
+                    throttled++;
+                    attempt--;
+                    continue;
+                }
+                if (!RetryPolicy.isRetryable(response.code()) || !shouldRetry(request, attempt)) {
+                    ETagCache.CachedResponse kept = getKeptResponse(response);
+                    if (isNotModified(response) && kept == null) {
+                        // the kept response was evicted after the request was built, which is not a failed attempt
+                        report(request, response.code(), timer);
+                        request = withoutValidator(request);
+                        attempt--;
+                        continue;
+                    }
+                    return handleResponse(response, kept, handler, timer);
+                }
+                report(request, response.code(), timer);
+            } catch (IOException e) {
+                report(request, 0, timer);
+                if (!shouldRetry(request, attempt)) {
+                    throw new GitlabException(e);
+                }
+            }
+            try {
+                Thread.sleep(retryPolicy.backoffMillis(attempt));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitlabException(e);
+            }
+        }
+    }
+
+    /**
+     * Asynchronously issue a HTTP request to the Gitlab endpoint from the given httpClient, tail url, HTTP method
+     * the the body data, and hand the successful response to the given handler on the OkHttp dispatcher thread.
+     * No thread is blocked while the request is in flight, or while it waits for the rate limit.
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param method  method he HTTP method to be used in this request
+     * @param body    the body to be used
+     * @param handler the handler to turn the successful response into the result
+     * @param <R>     the type of the result
+     * @return a future of the result produced by the handler, which completes exceptionally with
+     * {@link GitlabException} if {@link IOException} occurs or the response code is not in [200,400)
+     */
+    private <R> CompletableFuture<R> requestAsync(String tailUrl, Method method, Body body,
+                                                  ResponseHandler<R> handler) {
+        CompletableFuture<R> future = new CompletableFuture<>();
         Request request;
+        try {
+            request = buildRequest(tailUrl, method, body);
+        } catch (GitlabException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        retryBudget.onRequest();
+        enqueue(request, handler, future, 1, 1);
+        return future;
+    }
+
+    /**
+     * Enqueue the given request once the rate limit allows it, and complete the future with its result
+     *
+     * @param request   the request
+     * @param handler   the handler to turn the successful response into the result
+     * @param future    the future to be completed
+     * @param attempt   the number of this attempt, starting from 1
+     * @param throttled the number of times this request has been sent while throttled, starting from 1
+     * @param <R>       the type of the result
+     */
+    private <R> void enqueue(Request request, ResponseHandler<R> handler, CompletableFuture<R> future,
+                             int attempt, int throttled) {
+        RateLimitScheduler rateLimitScheduler = getRateLimitScheduler(request);
+        long queuedAt = System.nanoTime();
+        Runnable send = () -> client.newCall(request).enqueue(new Callback() {
+            private final RequestTimer timer = startTimer(queuedAt);
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                report(request, 0, timer);
+                if (shouldRetry(request, attempt)) {
+                    retry(request, handler, future, attempt, throttled);
+                } else {
+                    future.completeExceptionally(new GitlabException(e));
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response ignored = response) {
+                    rateLimitScheduler.update(response);
+                    if (timer != null) {
+                        timer.onFirstByte();
+                    }
+                    if (isThrottled(response, throttled)) {
+                        report(request, response.code(), timer);
+                        enqueue(request, handler, future, attempt, throttled + 1);
+                        return;
+                    }
+                    if (RetryPolicy.isRetryable(response.code()) && shouldRetry(request, attempt)) {
+                        report(request, response.code(), timer);
+                        retry(request, handler, future, attempt, throttled);
+                        return;
+                    }
+                    ETagCache.CachedResponse kept = getKeptResponse(response);
+                    if (isNotModified(response) && kept == null) {
+                        report(request, response.code(), timer);
+                        enqueue(withoutValidator(request), handler, future, attempt, throttled);
+                        return;
+                    }
+                    future.complete(handleResponse(response, kept, handler, timer));
+                } catch (IOException e) {
+                    future.completeExceptionally(new GitlabException(e));
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+        });
+        long delay = rateLimitScheduler.reserve();
+        if (delay > 0) {
+            Delayer.EXECUTOR.schedule(send, delay, TimeUnit.MILLISECONDS);
+        } else {
+            send.run();
+        }
+    }
+
+    /**
+     * Enqueue the given request again after the backoff of the retry policy
+     *
+     * @param request   the request
+     * @param handler   the handler to turn the successful response into the result
+     * @param future    the future to be completed
+     * @param attempt   the number of the failed attempt, starting from 1
+     * @param throttled the number of times this request has been sent while throttled, starting from 1
+     * @param <R>       the type of the result
+     */
+    private <R> void retry(Request request, ResponseHandler<R> handler, CompletableFuture<R> future,
+                           int attempt, int throttled) {
+        Delayer.EXECUTOR.schedule(() -> enqueue(request, handler, future, attempt + 1, throttled),
+                retryPolicy.backoffMillis(attempt), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tests if the failed attempt of the given request should be retried, which withdraws a retry from the budget
+     *
+     * @param request the request
+     * @param attempt the number of the failed attempt, starting from 1
+     * @return true if the request should be sent again
+     */
+    private boolean shouldRetry(Request request, int attempt) {
+        return retryPolicy.canRetry(request.method(), attempt) && retryBudget.tryRetry();
+    }
+
+    /**
+     * Tests if the response tells that the request is throttled and should be sent again once the rate limit
+     * allows it
+     *
+     * @param response the response
+     * @param attempt  the number of the attempt that got the response, starting from 1
+     * @return true if the request should be sent again
+     */
+    private boolean isThrottled(Response response, int attempt) {
+        return rateLimitScheduling && response.code() == HTTP_TOO_MANY_REQUESTS
+                && attempt < MAX_THROTTLED_ATTEMPTS;
+    }
+
+    /**
+     * Get the credential for a GET request, which is the one with the most remaining rate limit budget
+     *
+     * @return the credential
+     */
+    private Credential getReadCredential() {
+        Credential best = writeCredential;
+        int bestRemaining = -1;
+        for (Credential credential : credentials) {
+            int remaining = credential.rateLimitScheduler.getRemaining();
+            if (remaining > bestRemaining) {
+                best = credential;
+                bestRemaining = remaining;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Get the rate limit scheduler of the credential the given request is sent with
+     *
+     * @param request the request
+     * @return the rate limit scheduler
+     */
+    private RateLimitScheduler getRateLimitScheduler(Request request) {
+        return request.tag(Credential.class).rateLimitScheduler;
+    }
+
+    /**
+     * Build the HTTP request from the given tail url, HTTP method the the body data
+     *
+     * @param tailUrl the tail url of the endpoint
+     * @param method  method he HTTP method to be used in this request
+     * @param body    the body to be used
+     * @return the HTTP request
+     * @throws GitlabException if the body cannot be serialized
+     */
+    private Request buildRequest(String tailUrl, Method method, Body body) {
         try {
             Request.Builder builder = new Request.Builder()
                     .url(getAPIUrl(tailUrl))
@@ -238,25 +849,318 @@ class HttpClient {
                             body == null ?
                                     // send empty body for post and put if no body is provided
                                     method.equals(Method.POST) || method.equals(Method.PUT) ? EMPTY_BODY : null :
-                                    RequestBody.create(MAPPER.writeValueAsString(body.getMap()), JSON));
-            if (authHeaderName != null) {
-                builder.addHeader(authHeaderName, authHeaderValue);
+                                    RequestBody.create(JsonUtil.writerFor(Map.class).writeValueAsBytes(body.getMap()), JSON));
+            Credential credential = method == Method.GET ? getReadCredential() : writeCredential;
+            if (credential.headerName != null) {
+                builder.addHeader(credential.headerName, credential.headerValue);
             }
-            request = builder.build();
+            builder.tag(Credential.class, credential);
+            Request request = builder.build();
+            if (etagCache != null && method == Method.GET) {
+                ETagCache.CachedResponse cached = etagCache.get(request.url().toString());
+                if (cached != null) {
+                    request = request.newBuilder().header("If-None-Match", cached.getEtag()).build();
+                }
+            }
+            return request;
         } catch (JsonProcessingException e) {
             // should never happen
             throw new GitlabException("Cannot serialize", e);
         }
-        try (Response response = client.newCall(request).execute()) {
-            String responseBody = response.body().string();
+    }
+
+    /**
+     * Tests if the response is a {@code 304 Not Modified} to a GET sent with {@code If-None-Match}
+     *
+     * @param response the response
+     * @return true if the response stands for a kept response
+     */
+    private boolean isNotModified(Response response) {
+        return etagCache != null && response.code() == HTTP_NOT_MODIFIED
+                && response.request().header("If-None-Match") != null;
+    }
+
+    /**
+     * Returns the kept response that a {@code 304 Not Modified} response stands for. It is looked up once, so
+     * that it cannot be evicted between the check and its use.
+     *
+     * @param response the response
+     * @return the kept response, or null if the response is not a 304 or the kept response has been evicted
+     */
+    private ETagCache.CachedResponse getKeptResponse(Response response) {
+        return isNotModified(response) ? etagCache.get(response.request().url().toString()) : null;
+    }
+
+    /**
+     * Returns the given conditional request without its {@code If-None-Match} header, to send it again when the
+     * kept response of its {@code 304 Not Modified} response has been evicted
+     *
+     * @param request the conditional request
+     * @return the unconditional request
+     */
+    private static Request withoutValidator(Request request) {
+        return request.newBuilder().removeHeader("If-None-Match").build();
+    }
+
+    /**
+     * Hand the response to the given handler if it is successful, so the JSON is parsed straight from the
+     * response body stream without buffering it as a {@link String}.
+     *
+     * If conditional requests are enabled, the body of a successful GET with an {@code ETag} is kept, and a
+     * {@code 304 Not Modified} response is handled as the kept response.
+     *
+     * If metrics are enabled, the metrics of the request are reported once the response has been handled.
+     *
+     * @param response the response
+     * @param kept     the kept response the {@code 304 Not Modified} response stands for, or null
+     * @param handler  the handler to turn the successful response into the result
+     * @param timer    the timer of the request, or null if the request is not measured
+     * @param <R>      the type of the result
+     * @return the result produced by the handler
+     * @throws IOException     if the response body cannot be read
+     * @throws GitlabException if the response code is not in [200,400)
+     */
+    private <R> R handleResponse(Response response, ETagCache.CachedResponse kept, ResponseHandler<R> handler,
+                                 RequestTimer timer) throws IOException {
+        try {
+            if (kept != null) {
+                return handle(handler, response.newBuilder().code(HTTP_OK).headers(kept.getHeaders()).build(),
+                        new ByteArrayInputStream(kept.getBody()), timer);
+            }
+            if (etagCache != null && Method.GET.name().equals(response.request().method())) {
+                String url = response.request().url().toString();
+                String etag = response.header("ETag");
+                if (response.isSuccessful() && etag != null) {
+                    byte[] responseBody = response.body().bytes();
+                    etagCache.put(url, etag, response.headers(), responseBody);
+                    if (timer != null) {
+                        timer.addBytes(responseBody.length);
+                    }
+                    return handle(handler, response, new ByteArrayInputStream(responseBody), timer);
+                }
+            }
             if (response.isSuccessful()) {
-                return responseBody;
+                return handle(handler, response, response.body().byteStream(), timer);
+            }
+            String message = response.body().string();
+            if (timer != null) {
+                timer.addBytes(message.getBytes(StandardCharsets.UTF_8).length);
             }
             throw new GitlabException(String
-                    .format("Response code %d: %s\n%s", response.code(), response.message(), responseBody));
-        } catch (IOException e) {
-            throw new GitlabException(e);
+                    .format("Response code %d: %s\n%s", response.code(), response.message(), message));
+        } finally {
+            report(response.request(), response.code(), timer);
+        }
+    }
+
+    /**
+     * Hand the response body to the given handler, measuring the time and the bytes read if metrics are enabled
+     *
+     * @param handler      the handler to turn the successful response into the result
+     * @param response     the response
+     * @param responseBody the response body stream
+     * @param timer        the timer of the request, or null if the request is not measured
+     * @param <R>          the type of the result
+     * @return the result produced by the handler
+     */
+    private static <R> R handle(ResponseHandler<R> handler, Response response, InputStream responseBody,
+                                RequestTimer timer) {
+        if (timer == null) {
+            return handler.handle(response, responseBody);
         }
+        R result = handler.handle(response, timer.startParsing(responseBody));
+        timer.endParsing();
+        return result;
+    }
+
+    /**
+     * Start measuring an attempt of a request, right before it is sent
+     *
+     * @param queuedAt when the request started waiting for the rate limit, from {@link System#nanoTime()}
+     * @return the timer of the request, or null if neither metrics nor flight recorder events are enabled
+     */
+    private RequestTimer startTimer(long queuedAt) {
+        return metricsListener == null && !FlightRecorderEvents.isEnabled() ? null : new RequestTimer(queuedAt);
+    }
+
+    /**
+     * Report the metrics of an attempt of a request to the metrics listener and the flight recorder, if they are
+     * enabled and the attempt has not been reported yet
+     *
+     * @param request    the request
+     * @param statusCode the status code of the response, or 0 if no response was received
+     * @param timer      the timer of the request, or null if the request is not measured
+     */
+    private void report(Request request, int statusCode, RequestTimer timer) {
+        if (timer == null || timer.isFinished()) {
+            return;
+        }
+        String path = request.url().encodedPath();
+        String endpoint = EndpointTemplate.of(path.startsWith(apiPath) ? path.substring(apiPath.length()) : path);
+        RequestMetrics metrics = timer.finish(request.method(), endpoint, statusCode);
+        if (metricsListener != null) {
+            metricsListener.onRequest(metrics);
+        }
+        timer.commitEvent(metrics, parseIntHeader(request.url().queryParameter("page")));
+    }
+
+    /**
+     * Find the url marked as {@code rel="next"} in a {@code Link} response header
+     *
+     * @param linkHeader the value of the {@code Link} header, may be null
+     * @return the url of the next page, or null if there is no next page
+     */
+    private static String parseNextLink(String linkHeader) {
+        if (linkHeader == null) {
+            return null;
+        }
+        Matcher matcher = NEXT_LINK_PATTERN.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    /**
+     * Parse a numeric pagination header such as {@code X-Next-Page}
+     *
+     * @param value the value of the header, may be null or empty
+     * @return the parsed value, or 0 if the header is absent or empty
+     */
+    private static int parseIntHeader(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Turn a successful response into the expected result
+     *
+     * @param <R> the type of the result
+     */
+    @FunctionalInterface
+    private interface ResponseHandler<R> {
+        /**
+         * Handle the successful response
+         *
+         * @param response     the response, used to read headers
+         * @param responseBody the JSON response stream, which is closed along with the response
+         * @return the result
+         */
+        R handle(Response response, InputStream responseBody);
+    }
+
+    /**
+     * One page of a list response together with the pagination information
+     * taken from the response headers.
+     *
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/#pagination-link-header
+     *
+     * @param <T> the type of the {@link GitlabComponent}s in the page
+     */
+    static final class Page<T extends GitlabComponent> {
+        /**
+         * The components in this page
+         */
+        private final List<T> components;
+        /**
+         * The entire url of the next page from the {@code Link} header, or null
+         */
+        private final String nextLink;
+        /**
+         * The page number of this page from the {@code X-Page} header, or 0
+         */
+        private final int pageNumber;
+        /**
+         * The next page number from the {@code X-Next-Page} header, or 0
+         */
+        private final int nextPage;
+        /**
+         * The total number of pages from the {@code X-Total-Pages} header, or 0 if unknown
+         */
+        private final int totalPages;
+
+        /**
+         * Create a new page
+         *
+         * @param components the components in this page
+         * @param nextLink   the entire url of the next page, or null
+         * @param pageNumber the page number of this page, or 0
+         * @param nextPage   the next page number, or 0
+         * @param totalPages the total number of pages, or 0 if unknown
+         */
+        private Page(List<T> components, String nextLink, int pageNumber, int nextPage, int totalPages) {
+            this.components = components;
+            this.nextLink = nextLink;
+            this.pageNumber = pageNumber;
+            this.nextPage = nextPage;
+            this.totalPages = totalPages;
+        }
+
+        List<T> getComponents() {
+            return components;
+        }
+
+        String getNextLink() {
+            return nextLink;
+        }
+
+        int getPageNumber() {
+            return pageNumber;
+        }
+
+        int getNextPage() {
+            return nextPage;
+        }
+
+        int getTotalPages() {
+            return totalPages;
+        }
+    }
+
+    /**
+     * An authentication header with the rate limit state of its token
+     */
+    private static final class Credential {
+        /**
+         * The name of the access token, or null for the token set by
+         * {@link GitlabAPIClient.Builder#withAccessToken(String)} or
+         * {@link GitlabAPIClient.Builder#withOAuth2Token(String)}
+         */
+        private final String name;
+        /**
+         * The authentication header, or null for anonymous requests
+         */
+        private final String headerName;
+        private final String headerValue;
+        /**
+         * The scheduler that tracks the rate limit of the token
+         */
+        private final RateLimitScheduler rateLimitScheduler;
+
+        private Credential(String name, AuthMethod authMethod, String token, boolean rateLimitScheduling) {
+            this.name = name;
+            this.headerName = authMethod == null ? null : authMethod.getHeaderName();
+            this.headerValue = authMethod == null ? null : String.format(authMethod.getHeaderFormat(), token);
+            this.rateLimitScheduler = new RateLimitScheduler(rateLimitScheduling);
+        }
+    }
+
+    /**
+     * Holder of the daemon thread that sends delayed asynchronous requests, created on first use
+     */
+    private static final class Delayer {
+        /**
+         * The executor that sends delayed asynchronous requests
+         */
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+                runnable -> {
+                    Thread thread = new Thread(runnable, "gitlab-api-delayer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     /**
@@ -0,0 +1,291 @@
+package org.gitlab.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * This is the built-in {@link MetricsListener} that aggregates the requests
+ * in memory per HTTP method and endpoint: the number of requests by status
+ * code, the bytes received, and {@link LatencyHistogram}s of the time to first
+ * byte, the total latency and the parse time.
+ *
+ * The aggregates can be read with {@link #getEndpoints()}, or scraped in the
+ * Prometheus text format with {@link #scrape()}:
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * GitlabAPIClient client = new GitlabAPIClient.Builder("https://gitlab.com")
+ *         .withMetricsListener(metrics)
+ *         .build();
+ * ...
+ * System.out.println(metrics.scrape());
+ * </pre>
+ */
+public final class InMemoryMetrics implements MetricsListener {
+    /**
+     * The quantiles reported by {@link #scrape()}
+     */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    /**
+     * The aggregates keyed by the HTTP method and the endpoint, e.g. {@code GET /projects/{id}/issues}
+     */
+    private final ConcurrentMap<String, EndpointMetrics> endpoints = new ConcurrentHashMap<>();
+
+    @Override
+    public void onRequest(RequestMetrics metrics) {
+        String key = metrics.getMethod() + " " + metrics.getEndpoint();
+        EndpointMetrics endpoint = endpoints.get(key);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(key,
+                    k -> new EndpointMetrics(metrics.getMethod(), metrics.getEndpoint()));
+        }
+        endpoint.record(metrics);
+    }
+
+    /**
+     * Returns the aggregates of every endpoint requested so far, sorted by
+     * endpoint and method.
+     *
+     * @return the aggregates of every endpoint
+     */
+    public List<EndpointMetrics> getEndpoints() {
+        List<EndpointMetrics> list = new ArrayList<>(endpoints.values());
+        list.sort(Comparator.comparing(EndpointMetrics::getEndpoint).thenComparing(EndpointMetrics::getMethod));
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Returns the aggregates of the given endpoint.
+     *
+     * @param method   the HTTP method, e.g. {@code GET}
+     * @param endpoint the endpoint, e.g. {@code /projects/{id}/issues}
+     * @return the aggregates, or null if the endpoint has not been requested
+     */
+    public EndpointMetrics getEndpoint(String method, String endpoint) {
+        return endpoints.get(method + " " + endpoint);
+    }
+
+    /**
+     * Forgets every aggregate.
+     */
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * Returns the aggregates in the Prometheus text exposition format, with
+     * the durations in seconds and the latencies as summaries.
+     *
+     * @return the aggregates in the Prometheus text format
+     */
+    public String scrape() {
+        List<EndpointMetrics> list = getEndpoints();
+        StringBuilder builder = new StringBuilder();
+        builder.append("# TYPE gitlab_client_requests_total counter\n");
+        for (EndpointMetrics endpoint : list) {
+            for (Map.Entry<Integer, Long> status : endpoint.getStatusCounts().entrySet()) {
+                builder.append("gitlab_client_requests_total{").append(endpoint.labels())
+                       .append(",status=\"").append(status.getKey()).append("\"} ")
+                       .append(status.getValue()).append('\n');
+            }
+        }
+        builder.append("# TYPE gitlab_client_received_bytes_total counter\n");
+        for (EndpointMetrics endpoint : list) {
+            builder.append("gitlab_client_received_bytes_total{").append(endpoint.labels()).append("} ")
+                   .append(endpoint.getBytesReceived()).append('\n');
+        }
+        appendSummary(builder, "gitlab_client_time_to_first_byte_seconds", list,
+                EndpointMetrics::getTimeToFirstByte);
+        appendSummary(builder, "gitlab_client_latency_seconds", list, EndpointMetrics::getLatency);
+        appendSummary(builder, "gitlab_client_parse_seconds", list, EndpointMetrics::getParseTime);
+        return builder.toString();
+    }
+
+    private static void appendSummary(StringBuilder builder, String name, List<EndpointMetrics> list,
+                                      Function<EndpointMetrics, LatencyHistogram> histogramOf) {
+        builder.append("# TYPE ").append(name).append(" summary\n");
+        for (EndpointMetrics endpoint : list) {
+            LatencyHistogram histogram = histogramOf.apply(endpoint);
+            for (double quantile : QUANTILES) {
+                builder.append(name).append('{').append(endpoint.labels())
+                       .append(",quantile=\"").append(quantile).append("\"} ")
+                       .append(histogram.getPercentileNanos(quantile) / 1e9).append('\n');
+            }
+            builder.append(name).append("_sum{").append(endpoint.labels()).append("} ")
+                   .append(histogram.getSumNanos() / 1e9).append('\n');
+            builder.append(name).append("_count{").append(endpoint.labels()).append("} ")
+                   .append(histogram.getCount()).append('\n');
+        }
+    }
+
+    /**
+     * The string representation of these metrics
+     *
+     * @return the string representation of these metrics
+     */
+    @Override
+    public String toString() {
+        return "InMemoryMetrics{" +
+                "endpoints=" + getEndpoints() +
+                '}';
+    }
+
+    /**
+     * This is the class that represents the aggregates of the requests to
+     * one endpoint with one HTTP method.
+     */
+    public static final class EndpointMetrics {
+        private final String method;
+        private final String endpoint;
+        private final LongAdder count = new LongAdder();
+        private final ConcurrentMap<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+        private final LongAdder bytesReceived = new LongAdder();
+        private final LatencyHistogram timeToFirstByte = new LatencyHistogram();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LatencyHistogram parseTime = new LatencyHistogram();
+
+        /**
+         * Constructs the {@code EndpointMetrics}.
+         *
+         * @param method   the HTTP method
+         * @param endpoint the endpoint
+         */
+        EndpointMetrics(String method, String endpoint) {
+            this.method = method;
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Adds the given request to the aggregates.
+         *
+         * @param metrics the metrics of the request
+         */
+        void record(RequestMetrics metrics) {
+            count.increment();
+            LongAdder statusCount = statusCounts.get(metrics.getStatusCode());
+            if (statusCount == null) {
+                statusCount = statusCounts.computeIfAbsent(metrics.getStatusCode(), code -> new LongAdder());
+            }
+            statusCount.increment();
+            bytesReceived.add(metrics.getBytesReceived());
+            if (metrics.getStatusCode() != 0) {
+                timeToFirstByte.record(metrics.getTimeToFirstByteNanos());
+                parseTime.record(metrics.getParseNanos());
+            }
+            latency.record(metrics.getLatencyNanos());
+        }
+
+        /**
+         * Returns the HTTP method, e.g. {@code GET}.
+         *
+         * @return the HTTP method
+         */
+        public String getMethod() {
+            return method;
+        }
+
+        /**
+         * Returns the endpoint, e.g. {@code /projects/{id}/issues}.
+         *
+         * @return the endpoint
+         */
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        /**
+         * Returns the number of requests.
+         *
+         * @return the number of requests
+         */
+        public long getCount() {
+            return count.sum();
+        }
+
+        /**
+         * Returns the number of requests by status code, where 0 counts the
+         * requests that failed without a response.
+         *
+         * @return the number of requests by status code, sorted by status code
+         */
+        public Map<Integer, Long> getStatusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statusCounts.forEach((code, statusCount) -> counts.put(code, statusCount.sum()));
+            return Collections.unmodifiableMap(counts);
+        }
+
+        /**
+         * Returns the number of bytes of the response bodies read.
+         *
+         * @return the number of bytes received
+         */
+        public long getBytesReceived() {
+            return bytesReceived.sum();
+        }
+
+        /**
+         * Returns the histogram of the time to first byte of the requests
+         * that received a response.
+         *
+         * @return the histogram of the time to first byte
+         */
+        public LatencyHistogram getTimeToFirstByte() {
+            return timeToFirstByte;
+        }
+
+        /**
+         * Returns the histogram of the total latency of the requests.
+         *
+         * @return the histogram of the latency
+         */
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        /**
+         * Returns the histogram of the parse time of the requests that
+         * received a response.
+         *
+         * @return the histogram of the parse time
+         */
+        public LatencyHistogram getParseTime() {
+            return parseTime;
+        }
+
+        /**
+         * Returns the Prometheus labels of this endpoint.
+         *
+         * @return the labels, e.g. {@code method="GET",endpoint="/projects/{id}"}
+         */
+        private String labels() {
+            return "method=\"" + escape(method) + "\",endpoint=\"" + escape(endpoint) + "\"";
+        }
+
+        private static String escape(String value) {
+            return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        }
+
+        /**
+         * The string representation of these metrics
+         *
+         * @return the string representation of these metrics
+         */
+        @Override
+        public String toString() {
+            return "EndpointMetrics{" +
+                    "method=" + method +
+                    ", endpoint=" + endpoint +
+                    ", statusCounts=" + getStatusCounts() +
+                    ", bytesReceived=" + getBytesReceived() +
+                    ", latency=" + latency +
+                    '}';
+        }
+    }
+}
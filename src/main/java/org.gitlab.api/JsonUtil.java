@@ -0,0 +1,104 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is a static utility class that holds the Jackson mappers shared by the
+ * whole library, the JSON one of the Gitlab API and the Smile one of the
+ * {@link MirrorStore}, together with the readers and writers built from them.
+ *
+ * Readers and writers are immutable and thread-safe, and resolve their
+ * (de)serializers once when they are built, so they are cached per type
+ * instead of being looked up on every call.
+ */
+final class JsonUtil {
+    /**
+     * The Jackson Mapper
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .registerModule(UserInterner.MODULE)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    /**
+     * The cached readers keyed by the type to be read, e.g. {@code GitlabIssue[].class}
+     */
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    /**
+     * The cached writers keyed by the type to be written
+     */
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+    /**
+     * The Smile mapper of the records of a {@link MirrorStore}, which reads and
+     * writes the fields only, so that lazy getters such as
+     * {@link GitlabIssue#getProject()} are never called
+     */
+    static final ObjectMapper SMILE_MAPPER = new ObjectMapper(new SmileFactory())
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .setVisibility(PropertyAccessor.GETTER, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.IS_GETTER, JsonAutoDetect.Visibility.NONE);
+    /**
+     * The cached Smile readers keyed by the type to be read
+     */
+    private static final ConcurrentMap<Class<?>, ObjectReader> SMILE_READERS = new ConcurrentHashMap<>();
+    /**
+     * The cached Smile writers keyed by the type to be written
+     */
+    private static final ConcurrentMap<Class<?>, ObjectWriter> SMILE_WRITERS = new ConcurrentHashMap<>();
+
+    /**
+     * This class is not instantiatable
+     */
+    private JsonUtil() {
+    }
+
+    /**
+     * Returns the cached reader for the given type.
+     *
+     * @param type the type to be read
+     * @return the reader for the given type
+     */
+    static ObjectReader readerFor(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /**
+     * Returns the cached writer for the given type.
+     *
+     * @param type the type to be written
+     * @return the writer for the given type
+     */
+    static ObjectWriter writerFor(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /**
+     * Returns the cached Smile reader for the given type, see {@link #SMILE_MAPPER}.
+     *
+     * @param type the type to be read
+     * @return the Smile reader for the given type
+     */
+    static ObjectReader smileReaderFor(Class<?> type) {
+        return SMILE_READERS.computeIfAbsent(type, SMILE_MAPPER::readerFor);
+    }
+
+    /**
+     * Returns the cached Smile writer for the given type, see {@link #SMILE_MAPPER}.
+     *
+     * @param type the type to be written
+     * @return the Smile writer for the given type
+     */
+    static ObjectWriter smileWriterFor(Class<?> type) {
+        return SMILE_WRITERS.computeIfAbsent(type, SMILE_MAPPER::writerFor);
+    }
+}
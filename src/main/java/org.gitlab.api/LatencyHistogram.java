@@ -0,0 +1,173 @@
+package org.gitlab.api;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This is a thread-safe histogram of durations in nanoseconds with a fixed
+ * memory footprint, used by {@link InMemoryMetrics}.
+ *
+ * Values are counted in log-linear buckets: every power of two is split into
+ * 8 buckets, so a percentile is off by at most 12.5% of its value, and
+ * recording a value is a few arithmetic operations and an atomic increment.
+ */
+public final class LatencyHistogram {
+    /**
+     * The number of bits of the buckets within a power of two
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+    /**
+     * The number of buckets within a power of two
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /**
+     * The number of buckets to hold any non-negative long
+     */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+    /**
+     * The count of each bucket
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    /**
+     * The number of values
+     */
+    private final LongAdder count = new LongAdder();
+    /**
+     * The sum of the values
+     */
+    private final LongAdder sum = new LongAdder();
+    /**
+     * The largest value
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a value, where negative values are recorded as 0.
+     *
+     * @param nanos the value in nanoseconds
+     */
+    void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the number of values
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the values recorded in nanoseconds.
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getSumNanos() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the largest value recorded in nanoseconds, or 0 if there is none.
+     *
+     * @return the largest value in nanoseconds
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the values recorded in nanoseconds, or 0 if there
+     * is none.
+     *
+     * @return the mean in nanoseconds
+     */
+    public double getMeanNanos() {
+        long n = getCount();
+        return n == 0 ? 0 : getSumNanos() / (double) n;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile of the values recorded,
+     * e.g. {@code getPercentileNanos(0.99)} for the p99, or 0 if there is none.
+     *
+     * @param percentile the percentile in [0, 1]
+     * @return the percentile in nanoseconds
+     * @throws IllegalArgumentException if the percentile is not in [0, 1]
+     */
+    public long getPercentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be in [0, 1]");
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    /**
+     * Returns the bucket of the given non-negative value.
+     *
+     * @param value the value
+     * @return the index of the bucket
+     */
+    static int bucketOf(long value) {
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the largest value of the given bucket.
+     *
+     * @param bucket the index of the bucket
+     * @return the largest value of the bucket
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    /**
+     * The string representation of this histogram
+     *
+     * @return the string representation of this histogram
+     */
+    @Override
+    public String toString() {
+        return "LatencyHistogram{" +
+                "count=" + getCount() +
+                ", meanNanos=" + (long) getMeanNanos() +
+                ", p50Nanos=" + getPercentileNanos(0.5) +
+                ", p99Nanos=" + getPercentileNanos(0.99) +
+                ", maxNanos=" + getMaxNanos() +
+                '}';
+    }
+}
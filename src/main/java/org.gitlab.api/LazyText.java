@@ -0,0 +1,152 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This is a large text attribute, e.g. the description of an issue, kept as
+ * UTF-8 bytes until it is first read, see
+ * {@link GitlabAPIClient.Builder#withLazyText(boolean)}.
+ *
+ * The bytes take half the memory of the {@code char[]} of a {@code String}
+ * on Java 8 (and as much as a Latin-1 {@code String} on later versions), and
+ * are decoded once on the first {@link #toString()}, which then replaces
+ * them.
+ */
+final class LazyText implements CharSequence {
+    /**
+     * The UTF-8 bytes of the text until decoded, then the decoded text
+     */
+    private volatile Object value;
+
+    /**
+     * Constructs a {@link LazyText} of the given UTF-8 bytes.
+     *
+     * @param utf8 the UTF-8 bytes of the text
+     */
+    private LazyText(byte[] utf8) {
+        value = utf8;
+    }
+
+    /**
+     * Returns the text, decoding it on the first call.
+     *
+     * @return the text
+     */
+    @Override
+    public String toString() {
+        Object current = value;
+        if (current instanceof String) {
+            return (String) current;
+        }
+        // decoding twice in a race is harmless, both threads get equal strings
+        String text = new String((byte[]) current, StandardCharsets.UTF_8);
+        value = text;
+        return text;
+    }
+
+    @Override
+    public int length() {
+        return toString().length();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return toString().charAt(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().subSequence(start, end);
+    }
+
+    /**
+     * Returns the given text attribute as a {@code String}.
+     *
+     * @param text the {@code String} or {@link LazyText}, or null
+     * @return the text, or null
+     */
+    static String asString(CharSequence text) {
+        return text == null ? null : text.toString();
+    }
+
+    /**
+     * Encodes the given characters to UTF-8, replacing an unpaired surrogate
+     * with {@code '?'} as {@link String#getBytes(java.nio.charset.Charset)} does.
+     *
+     * @param chars  the buffer of the characters
+     * @param offset the offset of the first character
+     * @param length the number of characters
+     * @return the UTF-8 bytes
+     */
+    static byte[] encode(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int size = 0;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                size += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                size += 1;
+            } else {
+                size += 3;
+            }
+        }
+        byte[] bytes = new byte[size];
+        int j = 0;
+        for (int i = offset; i < end; i++) {
+            char c = chars[i];
+            if (c < 0x80) {
+                bytes[j++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[j++] = (byte) (0xC0 | c >> 6);
+                bytes[j++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < end && Character.isLowSurrogate(chars[i + 1])) {
+                int codePoint = Character.toCodePoint(c, chars[++i]);
+                bytes[j++] = (byte) (0xF0 | codePoint >> 18);
+                bytes[j++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                bytes[j++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                bytes[j++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                bytes[j++] = '?';
+            } else {
+                bytes[j++] = (byte) (0xE0 | c >> 12);
+                bytes[j++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[j++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * The class to deserialize a text attribute for Jackson: to a
+     * {@link LazyText} if the reader has the attribute
+     * {@code LazyText.class} set to true, or else to a {@code String}.
+     *
+     * With a {@link LazyText}, the characters are encoded straight from the
+     * buffer of the parser, so no {@code String} is created.
+     */
+    static class Deserializer extends JsonDeserializer<CharSequence> {
+        @Override
+        public CharSequence deserialize(JsonParser jsonParser, DeserializationContext deserializationContext)
+                throws IOException {
+            if (!jsonParser.hasToken(JsonToken.VALUE_STRING)
+                    || !Boolean.TRUE.equals(deserializationContext.getAttribute(LazyText.class))) {
+                return StringDeserializer.instance.deserialize(jsonParser, deserializationContext);
+            }
+            return new LazyText(encode(jsonParser.getTextCharacters(), jsonParser.getTextOffset(),
+                    jsonParser.getTextLength()));
+        }
+    }
+}
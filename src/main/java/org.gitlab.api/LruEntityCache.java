@@ -0,0 +1,186 @@
+package org.gitlab.api;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * This is the default {@link EntityCache}, which is bounded by both size (the
+ * least recently used entry is evicted first) and time to live.
+ *
+ * The value is loaded outside of the lock, so a slow load never blocks hits
+ * on other keys. Concurrent misses on the same key wait for a single load. A
+ * load that was in flight when its key was invalidated is returned to its
+ * callers but not cached, so it cannot bring back a stale value.
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the cached value
+ */
+final class LruEntityCache<K, V> implements EntityCache<K, V> {
+    /**
+     * The maximum number of entries.
+     */
+    private final int maxSize;
+    /**
+     * The time to live of an entry in nanoseconds, or 0 if entries never expire.
+     */
+    private final long ttlNanos;
+    /**
+     * The entries in access order, guarded by {@code this}.
+     */
+    private final LinkedHashMap<K, CachedValue<V>> entries;
+    /**
+     * The loads in flight by key, guarded by {@code this}. A load is removed
+     * when its key is invalidated, so that its value is not cached.
+     */
+    private final Map<K, CompletableFuture<V>> loads = new HashMap<>();
+
+    /**
+     * Constructs the {@code LruEntityCache} with size and time bounds.
+     *
+     * @param maxSize   the maximum number of entries
+     * @param ttlMillis the time to live of an entry in milliseconds, or 0 if entries never expire
+     * @throws IllegalArgumentException if maxSize is not positive or ttlMillis is negative
+     */
+    LruEntityCache(int maxSize, long ttlMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("cannot have non-positive cache size");
+        }
+        if (ttlMillis < 0) {
+            throw new IllegalArgumentException("cannot have negative time to live");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<K, CachedValue<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, CachedValue<V>> eldest) {
+                return size() > LruEntityCache.this.maxSize;
+            }
+        };
+    }
+
+    @Override
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        CompletableFuture<V> load;
+        boolean loading;
+        synchronized (this) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+            load = loads.get(key);
+            loading = load == null;
+            if (loading) {
+                load = new CompletableFuture<>();
+                loads.put(key, load);
+            }
+        }
+        if (!loading) {
+            // the lock is not held while waiting, so that the load can complete
+            return await(load);
+        }
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException | Error e) {
+            synchronized (this) {
+                loads.remove(key, load);
+            }
+            load.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            if (loads.remove(key, load) && value != null) {
+                put(key, value);
+            }
+        }
+        load.complete(value);
+        return value;
+    }
+
+    /**
+     * Waits for a load started by another caller, and rethrows its failure.
+     *
+     * @param load the load in flight
+     * @return the loaded value
+     */
+    private V await(CompletableFuture<V> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the cached value of the given key, or null if it is absent or
+     * expired.
+     *
+     * @param key the key
+     * @return the cached value, or null
+     */
+    synchronized V getIfPresent(K key) {
+        CachedValue<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (ttlNanos > 0 && System.nanoTime() - entry.createdAt > ttlNanos) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Caches the given value under the given key.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    synchronized void put(K key, V value) {
+        entries.put(key, new CachedValue<>(value, System.nanoTime()));
+    }
+
+    @Override
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        loads.remove(key);
+    }
+
+    @Override
+    public synchronized void invalidateAll() {
+        entries.clear();
+        loads.clear();
+    }
+
+    /**
+     * A cached value with the time it was cached.
+     *
+     * @param <V> the type of the value
+     */
+    private static final class CachedValue<V> {
+        /**
+         * The cached value
+         */
+        private final V value;
+        /**
+         * The {@link System#nanoTime()} when the value was cached
+         */
+        private final long createdAt;
+
+        private CachedValue(V value, long createdAt) {
+            this.value = value;
+            this.createdAt = createdAt;
+        }
+    }
+}
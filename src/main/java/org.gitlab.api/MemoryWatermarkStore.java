@@ -0,0 +1,25 @@
+package org.gitlab.api;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class is the {@link WatermarkStore} that keeps the watermarks in memory.
+ */
+final class MemoryWatermarkStore implements WatermarkStore {
+    /**
+     * The watermarks by key.
+     */
+    private final Map<String, ZonedDateTime> watermarks = new ConcurrentHashMap<>();
+
+    @Override
+    public ZonedDateTime get(String key) {
+        return watermarks.get(key);
+    }
+
+    @Override
+    public void put(String key, ZonedDateTime watermark) {
+        watermarks.put(key, watermark);
+    }
+}
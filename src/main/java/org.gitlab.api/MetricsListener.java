@@ -0,0 +1,32 @@
+package org.gitlab.api;
+
+/**
+ * This is the interface notified of the {@link RequestMetrics} of every HTTP
+ * request sent by a {@link GitlabAPIClient}, e.g. to export them to a
+ * monitoring system. {@link InMemoryMetrics} is a built-in implementation
+ * that aggregates them per endpoint.
+ *
+ * Each attempt of a request is reported on its own, including the attempts
+ * that are retried. The listener is called on the thread that sent the
+ * request or on the OkHttp dispatcher thread, so implementations must be
+ * thread-safe, fast and must not throw.
+ */
+public interface MetricsListener {
+    /**
+     * Returns the listener that ignores every request, which is the default.
+     * No metrics are measured when it is set.
+     *
+     * @return the no-op {@link MetricsListener}
+     */
+    static MetricsListener none() {
+        return NoMetricsListener.INSTANCE;
+    }
+
+    /**
+     * Called when an attempt of a request has completed, failed or been
+     * answered with a response that will be retried.
+     *
+     * @param metrics the metrics of the request
+     */
+    void onRequest(RequestMetrics metrics);
+}
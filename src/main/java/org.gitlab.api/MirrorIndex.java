@@ -0,0 +1,228 @@
+package org.gitlab.api;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class is the in-memory index of the issues or the merge requests in a
+ * {@link MirrorStore}: the log offset of each record, and the records by
+ * project id, state, label and author id.
+ *
+ * Records are keyed by {@link #key(int, int)} of their project id and
+ * internal id. This class is not thread-safe; the store guards it.
+ */
+final class MirrorIndex {
+    /**
+     * The indexed attributes of each record by key.
+     */
+    private final Map<Long, Entry> entries = new HashMap<>();
+    /**
+     * The keys by project id.
+     */
+    private final Map<Integer, Set<Long>> byProject = new HashMap<>();
+    /**
+     * The keys by state, e.g. opened.
+     */
+    private final Map<String, Set<Long>> byState = new HashMap<>();
+    /**
+     * The keys by label.
+     */
+    private final Map<String, Set<Long>> byLabel = new HashMap<>();
+    /**
+     * The keys by author id.
+     */
+    private final Map<Integer, Set<Long>> byAuthor = new HashMap<>();
+
+    /**
+     * Returns the key of a record.
+     *
+     * @param projectId the project id
+     * @param iid       the internal id in the project
+     * @return the key
+     */
+    static long key(int projectId, int iid) {
+        return ((long) projectId << 32) | (iid & 0xffffffffL);
+    }
+
+    /**
+     * Adds or replaces a record.
+     *
+     * @param key       the key of the record
+     * @param offset    the offset of the record in the log
+     * @param projectId the project id
+     * @param state     the state, may be null
+     * @param labels    the labels, may be null
+     * @param author    the author, may be null
+     */
+    void put(long key, long offset, int projectId, String state, List<String> labels, GitlabUser author) {
+        remove(key);
+        Entry entry = new Entry(offset, projectId, state,
+                labels == null ? Collections.emptyList() : new ArrayList<>(labels),
+                author == null ? null : author.getId());
+        entries.put(key, entry);
+        add(byProject, projectId, key);
+        if (entry.state != null) {
+            add(byState, entry.state, key);
+        }
+        for (String label : entry.labels) {
+            add(byLabel, label, key);
+        }
+        if (entry.authorId != null) {
+            add(byAuthor, entry.authorId, key);
+        }
+    }
+
+    /**
+     * Removes a record.
+     *
+     * @param key the key of the record
+     * @return true if the record was present
+     */
+    boolean remove(long key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        remove(byProject, entry.projectId, key);
+        if (entry.state != null) {
+            remove(byState, entry.state, key);
+        }
+        for (String label : entry.labels) {
+            remove(byLabel, label, key);
+        }
+        if (entry.authorId != null) {
+            remove(byAuthor, entry.authorId, key);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the log offset of a record.
+     *
+     * @param key the key of the record
+     * @return the offset, or null if absent
+     */
+    Long getOffset(long key) {
+        Entry entry = entries.get(key);
+        return entry == null ? null : entry.offset;
+    }
+
+    /**
+     * Moves a record to another log offset, e.g. after compaction.
+     *
+     * @param key    the key of the record
+     * @param offset the new offset
+     */
+    void setOffset(long key, long offset) {
+        entries.get(key).offset = offset;
+    }
+
+    /**
+     * Returns the keys of every record.
+     *
+     * @return the keys
+     */
+    Set<Long> keys() {
+        return Collections.unmodifiableSet(entries.keySet());
+    }
+
+    /**
+     * Returns the keys of the records of a project.
+     *
+     * @param projectId the project id
+     * @return the keys
+     */
+    Set<Long> byProject(int projectId) {
+        return get(byProject, projectId);
+    }
+
+    /**
+     * Returns the keys of the records in a state.
+     *
+     * @param state the state
+     * @return the keys
+     */
+    Set<Long> byState(String state) {
+        return get(byState, state);
+    }
+
+    /**
+     * Returns the keys of the records with a label.
+     *
+     * @param label the label
+     * @return the keys
+     */
+    Set<Long> byLabel(String label) {
+        return get(byLabel, label);
+    }
+
+    /**
+     * Returns the keys of the records of an author.
+     *
+     * @param authorId the author id
+     * @return the keys
+     */
+    Set<Long> byAuthor(int authorId) {
+        return get(byAuthor, authorId);
+    }
+
+    /**
+     * Returns the labels of a record.
+     *
+     * @param key the key of the record
+     * @return the labels
+     */
+    List<String> getLabels(long key) {
+        return entries.get(key).labels;
+    }
+
+    /**
+     * Returns the author id of a record.
+     *
+     * @param key the key of the record
+     * @return the author id, or null if unknown
+     */
+    Integer getAuthorId(long key) {
+        return entries.get(key).authorId;
+    }
+
+    private static <K> void add(Map<K, Set<Long>> index, K value, long key) {
+        index.computeIfAbsent(value, ignored -> new HashSet<>()).add(key);
+    }
+
+    private static <K> void remove(Map<K, Set<Long>> index, K value, long key) {
+        Set<Long> keys = index.get(value);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            index.remove(value);
+        }
+    }
+
+    private static <K> Set<Long> get(Map<K, Set<Long>> index, K value) {
+        Set<Long> keys = index.get(value);
+        return keys == null ? Collections.emptySet() : Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * The indexed attributes of a record.
+     */
+    private static final class Entry {
+        private long offset;
+        private final int projectId;
+        private final String state;
+        private final List<String> labels;
+        private final Integer authorId;
+
+        private Entry(long offset, int projectId, String state, List<String> labels, Integer authorId) {
+            this.offset = offset;
+            this.projectId = projectId;
+            this.state = state;
+            this.labels = labels;
+            this.authorId = authorId;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package org.gitlab.api;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * An abstract class to query the issues or merge requests kept in a
+ * {@link MirrorStore} without any request to Gitlab, with the same
+ * conditions as the corresponding {@link GitlabQuery}.
+ *
+ * Conditions on the project id, state, labels and author are answered from
+ * the indexes of the store; the other conditions are checked on the records
+ * selected by the indexes. Results are ordered by project id, then internal
+ * id.
+ *
+ * @param <T> the expected {@link GitlabComponent} as the query result
+ */
+abstract class MirrorQuery<T extends GitlabComponent> {
+    /**
+     * The store to query.
+     */
+    private final MirrorStore store;
+    /**
+     * The index of the records to query.
+     */
+    private final MirrorIndex index;
+    /**
+     * The type of the records.
+     */
+    private final Class<T> type;
+    private Integer projectId;
+    private String state;
+    private final List<String> labels = new ArrayList<>();
+    private Integer authorId;
+    private ZonedDateTime createdAfter;
+    private ZonedDateTime createdBefore;
+    private ZonedDateTime updatedAfter;
+    private ZonedDateTime updatedBefore;
+    private String search;
+    private Pagination pagination;
+
+    /**
+     * Constructs the {@code MirrorQuery}.
+     *
+     * @param store the store to query
+     * @param index the index of the records to query
+     * @param type  the type of the records
+     */
+    MirrorQuery(MirrorStore store, MirrorIndex index, Class<T> type) {
+        this.store = store;
+        this.index = index;
+        this.type = type;
+    }
+
+    void setProjectId(int projectId) {
+        this.projectId = projectId;
+    }
+
+    void setState(String state) {
+        // "all" is the Gitlab way of not filtering by state
+        this.state = "all".equals(state) ? null : state;
+    }
+
+    void setLabels(List<String> labels) {
+        this.labels.clear();
+        this.labels.addAll(labels);
+    }
+
+    void setAuthorId(int authorId) {
+        this.authorId = authorId;
+    }
+
+    void setCreatedAfter(ZonedDateTime createdAfter) {
+        this.createdAfter = createdAfter;
+    }
+
+    void setCreatedBefore(ZonedDateTime createdBefore) {
+        this.createdBefore = createdBefore;
+    }
+
+    void setUpdatedAfter(ZonedDateTime updatedAfter) {
+        this.updatedAfter = updatedAfter;
+    }
+
+    void setUpdatedBefore(ZonedDateTime updatedBefore) {
+        this.updatedBefore = updatedBefore;
+    }
+
+    void setSearch(String search) {
+        this.search = search == null ? null : search.toLowerCase(Locale.ROOT);
+    }
+
+    void setPagination(Pagination pagination) {
+        this.pagination = pagination;
+    }
+
+    abstract ZonedDateTime getCreatedAt(T component);
+
+    abstract ZonedDateTime getUpdatedAt(T component);
+
+    abstract String getTitle(T component);
+
+    abstract String getDescription(T component);
+
+    /**
+     * Returns the records matching the conditions, or only the requested page
+     * of them if a pagination is set. If only indexed conditions are set, the
+     * records before the page are skipped without being read.
+     *
+     * @return a list of the matching records
+     * @throws GitlabException if the store cannot be read
+     */
+    public List<T> query() {
+        int skip = 0;
+        int limit = Integer.MAX_VALUE;
+        if (pagination != null) {
+            skip = (pagination.getPageNumber() - 1) * pagination.getPageSize();
+            limit = pagination.getPageSize();
+        }
+        List<T> result = new ArrayList<>();
+        synchronized (store) {
+            List<Long> keys = getSortedCandidates();
+            if (!hasUnindexedConditions()) {
+                int from = Math.min(skip, keys.size());
+                int to = (int) Math.min((long) from + limit, keys.size());
+                for (long key : keys.subList(from, to)) {
+                    result.add(store.read(index.getOffset(key), type));
+                }
+                return result;
+            }
+            for (long key : keys) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                T component = store.read(index.getOffset(key), type);
+                if (matches(component)) {
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        result.add(component);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a lazy stream of the records matching the conditions, or only
+     * of the requested page of them if a pagination is set. The candidate
+     * keys are taken when this is called; each record is then read under the
+     * lock of the store only when the stream reaches it, and records removed
+     * in the meantime are left out.
+     *
+     * @return a stream of the matching records
+     * @throws GitlabException if the store cannot be read
+     */
+    public Stream<T> stream() {
+        long skip = 0;
+        long limit = Long.MAX_VALUE;
+        if (pagination != null) {
+            skip = (long) (pagination.getPageNumber() - 1) * pagination.getPageSize();
+            limit = pagination.getPageSize();
+        }
+        List<Long> keys;
+        synchronized (store) {
+            keys = getSortedCandidates();
+        }
+        if (!hasUnindexedConditions()) {
+            // the records before the page are skipped by key, without being read
+            return keys.stream().skip(skip).limit(limit).map(this::read).filter(Objects::nonNull);
+        }
+        return keys.stream().map(this::read).filter(Objects::nonNull).filter(this::matches).skip(skip).limit(limit);
+    }
+
+    /**
+     * Returns the number of records matching the conditions, regardless of
+     * the pagination. This reads no record if only indexed conditions are
+     * set.
+     *
+     * @return the number of matching records
+     * @throws GitlabException if the store cannot be read
+     */
+    public int count() {
+        synchronized (store) {
+            return getMatchingKeys().size();
+        }
+    }
+
+    /**
+     * Returns the number of records matching the conditions per label,
+     * regardless of the pagination. This reads no record if only indexed
+     * conditions are set.
+     *
+     * @return the number of matching records by label
+     * @throws GitlabException if the store cannot be read
+     */
+    public Map<String, Integer> countByLabel() {
+        Map<String, Integer> counts = new HashMap<>();
+        synchronized (store) {
+            for (long key : getMatchingKeys()) {
+                for (String label : index.getLabels(key)) {
+                    counts.merge(label, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of records matching the conditions per author id,
+     * regardless of the pagination. This reads no record if only indexed
+     * conditions are set.
+     *
+     * @return the number of matching records by author id
+     * @throws GitlabException if the store cannot be read
+     */
+    public Map<Integer, Integer> countByAuthorId() {
+        Map<Integer, Integer> counts = new HashMap<>();
+        synchronized (store) {
+            for (long key : getMatchingKeys()) {
+                Integer author = index.getAuthorId(key);
+                if (author != null) {
+                    counts.merge(author, 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the keys of the records matching every condition. The caller
+     * must hold the lock of the store.
+     *
+     * @return the matching keys
+     */
+    private Collection<Long> getMatchingKeys() {
+        Set<Long> candidates = getCandidates();
+        if (!hasUnindexedConditions()) {
+            return candidates;
+        }
+        List<Long> keys = new ArrayList<>();
+        for (long key : candidates) {
+            if (matches(store.read(index.getOffset(key), type))) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Tests if any condition must be checked on the records themselves.
+     *
+     * @return true if a creation, update or search condition is set
+     */
+    private boolean hasUnindexedConditions() {
+        return createdAfter != null || createdBefore != null || updatedAfter != null || updatedBefore != null
+                || search != null;
+    }
+
+    /**
+     * Reads the record of the given key under the lock of the store.
+     *
+     * @param key the key of the record
+     * @return the record, or null if it has been removed
+     * @throws GitlabException if the store cannot be read
+     */
+    private T read(long key) {
+        synchronized (store) {
+            Long offset = index.getOffset(key);
+            return offset == null ? null : store.read(offset, type);
+        }
+    }
+
+    /**
+     * Returns the candidate keys in the order of the results. The caller must
+     * hold the lock of the store.
+     *
+     * @return the sorted candidate keys
+     */
+    private List<Long> getSortedCandidates() {
+        List<Long> keys = new ArrayList<>(getCandidates());
+        keys.sort(Comparator.naturalOrder());
+        return keys;
+    }
+
+    /**
+     * Returns the keys of the records matching the indexed conditions, by
+     * intersecting the indexes from the smallest one. The caller must hold
+     * the lock of the store.
+     *
+     * @return the candidate keys
+     */
+    private Set<Long> getCandidates() {
+        List<Set<Long>> sets = new ArrayList<>();
+        if (projectId != null) {
+            sets.add(index.byProject(projectId));
+        }
+        if (state != null) {
+            sets.add(index.byState(state));
+        }
+        for (String label : labels) {
+            sets.add(index.byLabel(label));
+        }
+        if (authorId != null) {
+            sets.add(index.byAuthor(authorId));
+        }
+        if (sets.isEmpty()) {
+            return index.keys();
+        }
+        sets.sort(Comparator.comparingInt(Set::size));
+        if (sets.size() == 1) {
+            return sets.get(0);
+        }
+        Set<Long> candidates = new HashSet<>(sets.get(0));
+        for (int i = 1; i < sets.size() && !candidates.isEmpty(); i++) {
+            candidates.retainAll(sets.get(i));
+        }
+        return Collections.unmodifiableSet(candidates);
+    }
+
+    /**
+     * Tests if a record matches the conditions that are not indexed.
+     *
+     * @param component the record
+     * @return true if the record matches
+     */
+    private boolean matches(T component) {
+        return isAfter(getCreatedAt(component), createdAfter)
+                && isBefore(getCreatedAt(component), createdBefore)
+                && isAfter(getUpdatedAt(component), updatedAfter)
+                && isBefore(getUpdatedAt(component), updatedBefore)
+                && (search == null || contains(getTitle(component)) || contains(getDescription(component)));
+    }
+
+    private static boolean isAfter(ZonedDateTime time, ZonedDateTime bound) {
+        return bound == null || (time != null && !time.isBefore(bound));
+    }
+
+    private static boolean isBefore(ZonedDateTime time, ZonedDateTime bound) {
+        return bound == null || (time != null && !time.isAfter(bound));
+    }
+
+    private boolean contains(String text) {
+        return text != null && text.toLowerCase(Locale.ROOT).contains(search);
+    }
+}
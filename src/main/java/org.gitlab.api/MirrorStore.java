@@ -0,0 +1,925 @@
+package org.gitlab.api;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class is an embedded, file-backed mirror of Gitlab projects, users,
+ * issues and merge requests, so that read-heavy tools can query them without
+ * any request to Gitlab. Fill it from queries or from {@link SyncEngine}, e.g.
+ * {@code engine.syncIssues(project, store::put)}.
+ *
+ * Records are appended to a single log file in the given directory, encoded
+ * in Smile (a compact binary form of JSON). Only the log offset of each
+ * record is kept in memory, together with indexes of the issues and merge
+ * requests on project id, state, labels and author, which are rebuilt from
+ * the log when the store is opened. The log is compacted once it holds more
+ * stale records than live ones, or on {@link #compact()}.
+ *
+ * Records are read back as new instances on every call. They are attached to
+ * the {@link GitlabAPIClient} given to {@link #open(Path, GitlabAPIClient)},
+ * if any, so that e.g. {@link GitlabIssue#update()} works on them; otherwise
+ * they are detached snapshots and must not be used to send requests.
+ *
+ * This class is thread-safe.
+ */
+public final class MirrorStore implements Closeable {
+    /**
+     * The name of the log file in the directory.
+     */
+    private static final String LOG_FILE = "mirror.log";
+    private static final byte PROJECT = 1;
+    private static final byte USER = 2;
+    private static final byte ISSUE = 3;
+    private static final byte MERGE_REQUEST = 4;
+    private static final byte PUT = 0;
+    private static final byte REMOVE = 1;
+    /**
+     * The size of a record header: kind, operation, key and payload size.
+     */
+    private static final int HEADER_SIZE = 1 + 1 + 8 + 4;
+    /**
+     * The number of stale records below which the log is never compacted.
+     */
+    private static final int MIN_GARBAGE = 1024;
+    /**
+     * The log file.
+     */
+    private final Path logFile;
+    /**
+     * The HTTP client helper attached to the records read, or null.
+     */
+    private final HttpClient httpClient;
+    /**
+     * The open log file.
+     */
+    private RandomAccessFile log;
+    /**
+     * The size of the valid part of the log.
+     */
+    private long end;
+    /**
+     * The number of stale records in the log.
+     */
+    private long garbage;
+    /**
+     * The offsets of the projects by id.
+     */
+    private final Map<Integer, Long> projects = new HashMap<>();
+    /**
+     * The offsets of the users by id.
+     */
+    private final Map<Integer, Long> users = new HashMap<>();
+    /**
+     * The index of the issues.
+     */
+    private final MirrorIndex issues = new MirrorIndex();
+    /**
+     * The index of the merge requests.
+     */
+    private final MirrorIndex mergeRequests = new MirrorIndex();
+
+    /**
+     * Opens the store in the given directory and rebuilds its indexes.
+     *
+     * @param directory  the directory of the store
+     * @param httpClient the HTTP client helper attached to the records read, or null
+     * @throws GitlabException if the store cannot be read
+     */
+    private MirrorStore(Path directory, HttpClient httpClient) {
+        this.logFile = directory.resolve(LOG_FILE);
+        this.httpClient = httpClient;
+        try {
+            Files.createDirectories(directory);
+            log = new RandomAccessFile(logFile.toFile(), "rw");
+            replay();
+        } catch (IOException e) {
+            throw new GitlabException("Mirror store cannot be opened", e);
+        }
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed. The
+     * records read are detached snapshots.
+     *
+     * @param directory the directory of the store
+     * @return the opened {@link MirrorStore}
+     * @throws GitlabException if the store cannot be read
+     */
+    public static MirrorStore open(Path directory) {
+        return new MirrorStore(directory, null);
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed. The
+     * records read are attached to the given client.
+     *
+     * @param directory the directory of the store
+     * @param client    the client the records read are attached to
+     * @return the opened {@link MirrorStore}
+     * @throws GitlabException if the store cannot be read
+     */
+    public static MirrorStore open(Path directory, GitlabAPIClient client) {
+        return new MirrorStore(directory, client.getHttpClient());
+    }
+
+    /**
+     * Adds or replaces a project.
+     *
+     * @param project the project
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized void put(GitlabProject project) {
+        long offset = append(PROJECT, PUT, project.getId(), encode(project));
+        if (projects.put(project.getId(), offset) != null) {
+            garbage++;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Adds or replaces a user.
+     *
+     * @param user the user
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized void put(GitlabUser user) {
+        long offset = append(USER, PUT, user.getId(), encode(user));
+        if (users.put(user.getId(), offset) != null) {
+            garbage++;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Adds or replaces an issue.
+     *
+     * @param issue the issue
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized void put(GitlabIssue issue) {
+        long key = MirrorIndex.key(issue.getProjectId(), issue.getIid());
+        long offset = append(ISSUE, PUT, key, encode(issue));
+        if (index(issue, key, offset)) {
+            garbage++;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Adds or replaces a merge request.
+     *
+     * @param mergeRequest the merge request
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized void put(GitlabMergeRequest mergeRequest) {
+        long key = MirrorIndex.key(mergeRequest.getProjectId(), mergeRequest.getIid());
+        long offset = append(MERGE_REQUEST, PUT, key, encode(mergeRequest));
+        if (index(mergeRequest, key, offset)) {
+            garbage++;
+        }
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes a project.
+     *
+     * @param id the project id
+     * @return true if the project was in the store
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized boolean removeProject(int id) {
+        return projects.remove(id) != null && appendRemove(PROJECT, id);
+    }
+
+    /**
+     * Removes a user.
+     *
+     * @param id the user id
+     * @return true if the user was in the store
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized boolean removeUser(int id) {
+        return users.remove(id) != null && appendRemove(USER, id);
+    }
+
+    /**
+     * Removes an issue.
+     *
+     * @param projectId the project id
+     * @param iid       the internal id of the issue
+     * @return true if the issue was in the store
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized boolean removeIssue(int projectId, int iid) {
+        long key = MirrorIndex.key(projectId, iid);
+        return issues.remove(key) && appendRemove(ISSUE, key);
+    }
+
+    /**
+     * Removes a merge request.
+     *
+     * @param projectId the project id
+     * @param iid       the internal id of the merge request
+     * @return true if the merge request was in the store
+     * @throws GitlabException if the store cannot be written
+     */
+    public synchronized boolean removeMergeRequest(int projectId, int iid) {
+        long key = MirrorIndex.key(projectId, iid);
+        return mergeRequests.remove(key) && appendRemove(MERGE_REQUEST, key);
+    }
+
+    /**
+     * Returns the project of the given id.
+     *
+     * @param id the project id
+     * @return the project, or null if not in the store
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized GitlabProject getProject(int id) {
+        Long offset = projects.get(id);
+        return offset == null ? null : read(offset, GitlabProject.class);
+    }
+
+    /**
+     * Returns the user of the given id.
+     *
+     * @param id the user id
+     * @return the user, or null if not in the store
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized GitlabUser getUser(int id) {
+        Long offset = users.get(id);
+        return offset == null ? null : read(offset, GitlabUser.class);
+    }
+
+    /**
+     * Returns the issue of the given project and internal id.
+     *
+     * @param projectId the project id
+     * @param iid       the internal id of the issue
+     * @return the issue, or null if not in the store
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized GitlabIssue getIssue(int projectId, int iid) {
+        Long offset = issues.getOffset(MirrorIndex.key(projectId, iid));
+        return offset == null ? null : read(offset, GitlabIssue.class);
+    }
+
+    /**
+     * Returns the merge request of the given project and internal id.
+     *
+     * @param projectId the project id
+     * @param iid       the internal id of the merge request
+     * @return the merge request, or null if not in the store
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized GitlabMergeRequest getMergeRequest(int projectId, int iid) {
+        Long offset = mergeRequests.getOffset(MirrorIndex.key(projectId, iid));
+        return offset == null ? null : read(offset, GitlabMergeRequest.class);
+    }
+
+    /**
+     * Returns every project in the store.
+     *
+     * @return a list of the projects
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized List<GitlabProject> getProjects() {
+        List<GitlabProject> result = new ArrayList<>();
+        for (long offset : projects.values()) {
+            result.add(read(offset, GitlabProject.class));
+        }
+        return result;
+    }
+
+    /**
+     * Returns every user in the store.
+     *
+     * @return a list of the users
+     * @throws GitlabException if the store cannot be read
+     */
+    public synchronized List<GitlabUser> getUsers() {
+        List<GitlabUser> result = new ArrayList<>();
+        for (long offset : users.values()) {
+            result.add(read(offset, GitlabUser.class));
+        }
+        return result;
+    }
+
+    /**
+     * Returns a {@link IssueQuery} that can be used to query the issues in
+     * the store.
+     *
+     * @return a {@link IssueQuery}
+     */
+    public IssueQuery getIssuesQuery() {
+        return new IssueQuery(this);
+    }
+
+    /**
+     * Returns a {@link MergeRequestQuery} that can be used to query the merge
+     * requests in the store.
+     *
+     * @return a {@link MergeRequestQuery}
+     */
+    public MergeRequestQuery getMergeRequestsQuery() {
+        return new MergeRequestQuery(this);
+    }
+
+    /**
+     * Rewrites the log with the live records only.
+     *
+     * @throws GitlabException if the store cannot be rewritten
+     */
+    public synchronized void compact() {
+        Path temp = logFile.resolveSibling(LOG_FILE + ".tmp");
+        Map<Integer, Long> newProjects = new HashMap<>();
+        Map<Integer, Long> newUsers = new HashMap<>();
+        Map<Long, Long> newIssues = new HashMap<>();
+        Map<Long, Long> newMergeRequests = new HashMap<>();
+        long position = 0;
+        try {
+            try (RandomAccessFile out = new RandomAccessFile(temp.toFile(), "rw")) {
+                out.setLength(0);
+                for (Map.Entry<Integer, Long> entry : projects.entrySet()) {
+                    newProjects.put(entry.getKey(), position);
+                    position += copyRecord(entry.getValue(), out);
+                }
+                for (Map.Entry<Integer, Long> entry : users.entrySet()) {
+                    newUsers.put(entry.getKey(), position);
+                    position += copyRecord(entry.getValue(), out);
+                }
+                for (long key : issues.keys()) {
+                    newIssues.put(key, position);
+                    position += copyRecord(issues.getOffset(key), out);
+                }
+                for (long key : mergeRequests.keys()) {
+                    newMergeRequests.put(key, position);
+                    position += copyRecord(mergeRequests.getOffset(key), out);
+                }
+                out.getFD().sync();
+            }
+            log.close();
+            try {
+                Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, logFile, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                log = new RandomAccessFile(logFile.toFile(), "rw");
+            }
+        } catch (IOException e) {
+            throw new GitlabException("Mirror store cannot be compacted", e);
+        }
+        projects.putAll(newProjects);
+        users.putAll(newUsers);
+        newIssues.forEach(issues::setOffset);
+        newMergeRequests.forEach(mergeRequests::setOffset);
+        end = position;
+        garbage = 0;
+    }
+
+    /**
+     * Flushes the log to the disk and closes the store.
+     *
+     * @throws IOException if the log cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            log.getFD().sync();
+        } finally {
+            log.close();
+        }
+    }
+
+    /**
+     * Reads and decodes the record at the given offset. The caller must hold
+     * the lock of this store.
+     *
+     * @param offset the offset of the record
+     * @param type   the type of the record
+     * @param <T>    the type
+     * @return the decoded record
+     * @throws GitlabException if the store cannot be read
+     */
+    <T extends GitlabComponent> T read(long offset, Class<T> type) {
+        try {
+            log.seek(offset + HEADER_SIZE - 4);
+            byte[] payload = new byte[log.readInt()];
+            log.readFully(payload);
+            T component = decode(payload, type);
+            if (httpClient != null) {
+                component.withHttpClient(httpClient);
+            }
+            return component;
+        } catch (IOException e) {
+            throw new GitlabException("Mirror store cannot be read", e);
+        }
+    }
+
+    /**
+     * Rebuilds the offsets and indexes from the log, and drops a record torn
+     * by a crash at the end of the log.
+     *
+     * @throws IOException if the log cannot be read
+     */
+    private void replay() throws IOException {
+        long length = log.length();
+        long position = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logFile)))) {
+            while (position + HEADER_SIZE <= length) {
+                byte kind = in.readByte();
+                byte operation = in.readByte();
+                long key = in.readLong();
+                int size = in.readInt();
+                if (size < 0 || position + HEADER_SIZE + size > length) {
+                    break;
+                }
+                byte[] payload = new byte[size];
+                in.readFully(payload);
+                apply(kind, operation, key, position, payload);
+                position += HEADER_SIZE + size;
+            }
+        }
+        if (position < length) {
+            log.setLength(position);
+        }
+        end = position;
+    }
+
+    /**
+     * Applies a record of the log to the offsets and indexes.
+     *
+     * @param kind      the kind of component
+     * @param operation {@link #PUT} or {@link #REMOVE}
+     * @param key       the key of the component
+     * @param offset    the offset of the record
+     * @param payload   the encoded component of a {@link #PUT}
+     * @throws IOException if the payload cannot be decoded
+     */
+    private void apply(byte kind, byte operation, long key, long offset, byte[] payload) throws IOException {
+        boolean replaced;
+        switch (kind) {
+            case PROJECT:
+                replaced = operation == PUT ? projects.put((int) key, offset) != null : projects.remove((int) key) != null;
+                break;
+            case USER:
+                replaced = operation == PUT ? users.put((int) key, offset) != null : users.remove((int) key) != null;
+                break;
+            case ISSUE:
+                replaced = operation == PUT ? index(decode(payload, GitlabIssue.class), key, offset)
+                        : issues.remove(key);
+                break;
+            case MERGE_REQUEST:
+                replaced = operation == PUT ? index(decode(payload, GitlabMergeRequest.class), key, offset)
+                        : mergeRequests.remove(key);
+                break;
+            default:
+                throw new IOException("Unknown record kind " + kind + " at offset " + offset);
+        }
+        if (operation == REMOVE) {
+            // the remove record itself is stale too
+            garbage++;
+        }
+        if (replaced) {
+            garbage++;
+        }
+    }
+
+    /**
+     * Indexes an issue.
+     *
+     * @param issue  the issue
+     * @param key    the key of the issue
+     * @param offset the offset of its record
+     * @return true if it replaced an indexed issue
+     */
+    private boolean index(GitlabIssue issue, long key, long offset) {
+        boolean replaced = issues.getOffset(key) != null;
+        issues.put(key, offset, issue.getProjectId(), issue.getState(), issue.getLabels(), issue.getAuthor());
+        return replaced;
+    }
+
+    /**
+     * Indexes a merge request.
+     *
+     * @param mergeRequest the merge request
+     * @param key          the key of the merge request
+     * @param offset       the offset of its record
+     * @return true if it replaced an indexed merge request
+     */
+    private boolean index(GitlabMergeRequest mergeRequest, long key, long offset) {
+        boolean replaced = mergeRequests.getOffset(key) != null;
+        mergeRequests.put(key, offset, mergeRequest.getProjectId(), mergeRequest.getState(),
+                mergeRequest.getLabels(), mergeRequest.getAuthor());
+        return replaced;
+    }
+
+    /**
+     * Appends a record to the log.
+     *
+     * @param kind      the kind of component
+     * @param operation {@link #PUT} or {@link #REMOVE}
+     * @param key       the key of the component
+     * @param payload   the encoded component, empty for a {@link #REMOVE}
+     * @return the offset of the record
+     * @throws GitlabException if the log cannot be written
+     */
+    private long append(byte kind, byte operation, long key, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length)
+                .put(kind)
+                .put(operation)
+                .putLong(key)
+                .putInt(payload.length)
+                .put(payload);
+        try {
+            log.seek(end);
+            log.write(record.array());
+        } catch (IOException e) {
+            throw new GitlabException("Mirror store cannot be written", e);
+        }
+        long offset = end;
+        end += record.capacity();
+        return offset;
+    }
+
+    /**
+     * Appends the removal of a component whose record has become stale.
+     *
+     * @param kind the kind of component
+     * @param key  the key of the component
+     * @return true
+     * @throws GitlabException if the log cannot be written
+     */
+    private boolean appendRemove(byte kind, long key) {
+        append(kind, REMOVE, key, new byte[0]);
+        garbage += 2;
+        compactIfNeeded();
+        return true;
+    }
+
+    /**
+     * Copies the record at the given offset to the end of the given file.
+     *
+     * @param offset the offset of the record in the log
+     * @param out    the file to copy to
+     * @return the size of the record
+     * @throws IOException if the record cannot be copied
+     */
+    private int copyRecord(long offset, RandomAccessFile out) throws IOException {
+        log.seek(offset + HEADER_SIZE - 4);
+        byte[] record = new byte[HEADER_SIZE + log.readInt()];
+        log.seek(offset);
+        log.readFully(record);
+        out.write(record);
+        return record.length;
+    }
+
+    /**
+     * Compacts the log once it holds more stale records than live ones.
+     */
+    private void compactIfNeeded() {
+        long live = projects.size() + users.size() + issues.keys().size() + mergeRequests.keys().size();
+        if (garbage >= MIN_GARBAGE && garbage > live) {
+            compact();
+        }
+    }
+
+    /**
+     * Encodes a component in Smile.
+     *
+     * @param component the component
+     * @return the encoded bytes
+     * @throws GitlabException if the component cannot be encoded
+     */
+    private static byte[] encode(GitlabComponent component) {
+        try {
+            return JsonUtil.smileWriterFor(component.getClass()).writeValueAsBytes(component);
+        } catch (IOException e) {
+            // should never happen
+            throw new GitlabException("Cannot serialize", e);
+        }
+    }
+
+    /**
+     * Decodes a component from Smile.
+     *
+     * @param payload the encoded bytes
+     * @param type    the type of the component
+     * @param <T>     the type
+     * @return the decoded component
+     * @throws IOException if the bytes cannot be decoded
+     */
+    private static <T> T decode(byte[] payload, Class<T> type) throws IOException {
+        return JsonUtil.smileReaderFor(type).readValue(payload);
+    }
+
+    /**
+     * This class is used to query the issues kept in a {@link MirrorStore},
+     * like {@link GitlabIssue.ProjectQuery} does on Gitlab.
+     */
+    public static final class IssueQuery extends MirrorQuery<GitlabIssue> {
+        /**
+         * Constructs the {@code IssueQuery}.
+         *
+         * @param store the store to query
+         */
+        IssueQuery(MirrorStore store) {
+            super(store, store.issues, GitlabIssue.class);
+        }
+
+        /**
+         * Returns a query that returns the issues of the given project.
+         *
+         * @param projectId the project id
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withProjectId(int projectId) {
+            setProjectId(projectId);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues with the given state: opened,
+         * closed, or all.
+         *
+         * @param state the state
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withState(String state) {
+            setState(state);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues with every given label.
+         *
+         * @param labels the labels
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withLabels(List<String> labels) {
+            setLabels(labels);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues created by the given user.
+         *
+         * @param authorId the user id of the author
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withAuthorId(int authorId) {
+            setAuthorId(authorId);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues created on or after the given time.
+         *
+         * @param createdAfter the earliest creation time
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withCreatedAfter(ZonedDateTime createdAfter) {
+            setCreatedAfter(createdAfter);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues created on or before the given time.
+         *
+         * @param createdBefore the latest creation time
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withCreatedBefore(ZonedDateTime createdBefore) {
+            setCreatedBefore(createdBefore);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues updated on or after the given time.
+         *
+         * @param updatedAfter the earliest update time
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withUpdatedAfter(ZonedDateTime updatedAfter) {
+            setUpdatedAfter(updatedAfter);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues updated on or before the given time.
+         *
+         * @param updatedBefore the latest update time
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withUpdatedBefore(ZonedDateTime updatedBefore) {
+            setUpdatedBefore(updatedBefore);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns issues whose title or description
+         * contains the given text, ignoring case.
+         *
+         * @param search the text to search
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withSearch(String search) {
+            setSearch(search);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns only the given page of the issues.
+         *
+         * @param pagination the pagination
+         * @return this {@link IssueQuery}
+         */
+        public IssueQuery withPagination(Pagination pagination) {
+            setPagination(pagination);
+            return this;
+        }
+
+        @Override
+        ZonedDateTime getCreatedAt(GitlabIssue component) {
+            return component.getCreatedAt();
+        }
+
+        @Override
+        ZonedDateTime getUpdatedAt(GitlabIssue component) {
+            return component.getUpdatedAt();
+        }
+
+        @Override
+        String getTitle(GitlabIssue component) {
+            return component.getTitle();
+        }
+
+        @Override
+        String getDescription(GitlabIssue component) {
+            return component.getDescription();
+        }
+    }
+
+    /**
+     * This class is used to query the merge requests kept in a
+     * {@link MirrorStore}, like {@link GitlabMergeRequest.ProjectQuery} does
+     * on Gitlab.
+     */
+    public static final class MergeRequestQuery extends MirrorQuery<GitlabMergeRequest> {
+        /**
+         * Constructs the {@code MergeRequestQuery}.
+         *
+         * @param store the store to query
+         */
+        MergeRequestQuery(MirrorStore store) {
+            super(store, store.mergeRequests, GitlabMergeRequest.class);
+        }
+
+        /**
+         * Returns a query that returns the merge requests of the given project.
+         *
+         * @param projectId the project id
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withProjectId(int projectId) {
+            setProjectId(projectId);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests with the given state:
+         * opened, closed, locked, merged, or all.
+         *
+         * @param state the state
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withState(String state) {
+            setState(state);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests with every given label.
+         *
+         * @param labels the labels
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withLabels(List<String> labels) {
+            setLabels(labels);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests created by the given user.
+         *
+         * @param authorId the user id of the author
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withAuthorId(int authorId) {
+            setAuthorId(authorId);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests created on or after the given time.
+         *
+         * @param createdAfter the earliest creation time
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withCreatedAfter(ZonedDateTime createdAfter) {
+            setCreatedAfter(createdAfter);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests created on or before the given time.
+         *
+         * @param createdBefore the latest creation time
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withCreatedBefore(ZonedDateTime createdBefore) {
+            setCreatedBefore(createdBefore);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests updated on or after the given time.
+         *
+         * @param updatedAfter the earliest update time
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withUpdatedAfter(ZonedDateTime updatedAfter) {
+            setUpdatedAfter(updatedAfter);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests updated on or before the given time.
+         *
+         * @param updatedBefore the latest update time
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withUpdatedBefore(ZonedDateTime updatedBefore) {
+            setUpdatedBefore(updatedBefore);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns merge requests whose title or
+         * description contains the given text, ignoring case.
+         *
+         * @param search the text to search
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withSearch(String search) {
+            setSearch(search);
+            return this;
+        }
+
+        /**
+         * Returns a query that returns only the given page of the merge requests.
+         *
+         * @param pagination the pagination
+         * @return this {@link MergeRequestQuery}
+         */
+        public MergeRequestQuery withPagination(Pagination pagination) {
+            setPagination(pagination);
+            return this;
+        }
+
+        @Override
+        ZonedDateTime getCreatedAt(GitlabMergeRequest component) {
+            return component.getCreatedAt();
+        }
+
+        @Override
+        ZonedDateTime getUpdatedAt(GitlabMergeRequest component) {
+            return component.getUpdatedAt();
+        }
+
+        @Override
+        String getTitle(GitlabMergeRequest component) {
+            return component.getTitle();
+        }
+
+        @Override
+        String getDescription(GitlabMergeRequest component) {
+            return component.getDescription();
+        }
+    }
+}
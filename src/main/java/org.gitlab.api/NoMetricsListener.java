@@ -0,0 +1,13 @@
+package org.gitlab.api;
+
+/**
+ * The {@link MetricsListener} that ignores every request, see
+ * {@link MetricsListener#none()}.
+ */
+enum NoMetricsListener implements MetricsListener {
+    INSTANCE;
+
+    @Override
+    public void onRequest(RequestMetrics metrics) {
+    }
+}
@@ -2,7 +2,7 @@ package org.gitlab.api;
 
 /**
  * This is the class that represents a pagination with page number and page
- * size.
+ * size, or a keyset-based pagination with page size only.
  *
  * Gitlab Web API: https://docs.gitlab.com/ee/api/#pagination
  */
@@ -18,7 +18,7 @@ public final class Pagination {
     /**
      * The default pagination is retrieve the first page with {@link #DEFAULT_PAGE_SIZE}.
      */
-    private static final Pagination DEFAULT_PAGINATION = new Pagination(1, DEFAULT_PAGE_SIZE);
+    private static final Pagination DEFAULT_PAGINATION = new Pagination(1, DEFAULT_PAGE_SIZE, false);
     /**
      * The page number to be retrieved
      */
@@ -27,16 +27,22 @@ public final class Pagination {
      * The results per pages to be retrieved.
      */
     private final int pageSize;
+    /**
+     * Whether the pages are retrieved by keyset rather than by page number.
+     */
+    private final boolean keyset;
 
     /**
      * Constructs the {@code Pagination} with page number and size.
      *
      * @param pageNumber the page number to be retrieved
      * @param pageSize   the results per pages to be retrieved
+     * @param keyset     whether the pages are retrieved by keyset
      */
-    private Pagination(int pageNumber, int pageSize) {
+    private Pagination(int pageNumber, int pageSize, boolean keyset) {
         this.pageNumber = pageNumber;
         this.pageSize = pageSize;
+        this.keyset = keyset;
     }
 
     /**
@@ -57,13 +63,47 @@ public final class Pagination {
      * @throws IllegalArgumentException if specified page number or page size out of valid range
      */
     public static Pagination of(int pageNumber, int pageSize) {
-        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
-            throw new IllegalArgumentException("cannot have non-positive page size or greater than " + MAX_PAGE_SIZE);
-        }
+        checkPageSize(pageSize);
         if (pageNumber < 0) {
             throw new IllegalArgumentException("cannot have negative page number");
         }
-        return new Pagination(pageNumber, pageSize);
+        return new Pagination(pageNumber, pageSize, false);
+    }
+
+    /**
+     * Returns keyset-based {@code Pagination} with specified items per page.
+     *
+     * Instead of a page number, each page is located by the last item of the
+     * previous page (e.g. {@code id_after}), so deep pages cost the same as
+     * the first one. The first page is retrieved by {@code query()}, and the
+     * following pages are reached by iterating over the query, which follows
+     * the {@code Link} response header.
+     *
+     * Keyset pagination is only supported by {@link GitlabProject.Query},
+     * which orders its pages by {@code id} unless another order is given;
+     * the other queries reject it.
+     *
+     * Gitlab Web API: https://docs.gitlab.com/ee/api/#keyset-based-pagination
+     *
+     * @param pageSize items per page (can be any integer between 1 and 100, both inclusive)
+     * @return a keyset-based {@code Pagination} object
+     * @throws IllegalArgumentException if specified page size out of valid range
+     */
+    public static Pagination keyset(int pageSize) {
+        checkPageSize(pageSize);
+        return new Pagination(1, pageSize, true);
+    }
+
+    /**
+     * Checks that the page size is within the valid range.
+     *
+     * @param pageSize items per page
+     * @throws IllegalArgumentException if specified page size out of valid range
+     */
+    private static void checkPageSize(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("cannot have non-positive page size or greater than " + MAX_PAGE_SIZE);
+        }
     }
 
     /**
@@ -83,4 +123,13 @@ public final class Pagination {
     public int getPageSize() {
         return pageSize;
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests if this {@code Pagination} is keyset-based.
+     *
+     * @return true if the pages are retrieved by keyset rather than by page number
+     */
+    public boolean isKeyset() {
+        return keyset;
+    }
+}
@@ -0,0 +1,189 @@
+package org.gitlab.api;
+
+import okhttp3.Response;
+
+/**
+ * This class tracks the rate limit budget reported by Gitlab in the response
+ * headers, and tells when the next request may be sent so that the budget is
+ * spread over the rest of the window instead of being exhausted in a burst.
+ *
+ * While plenty of budget remains, requests are sent immediately. Once the
+ * remaining budget falls below {@link #PACING_THRESHOLD} of the limit, the
+ * remaining requests are spaced evenly until the window resets. When the
+ * budget is exhausted, or Gitlab answers {@code 429 Too Many Requests},
+ * requests wait until the reset time or the {@code Retry-After} delay; the
+ * requests waiting for the reset are spread over the next window at the rate
+ * of the limit, so they do not all hit Gitlab the moment it resets.
+ *
+ * Gitlab Web API: https://docs.gitlab.com/ee/user/admin_area/settings/user_and_ip_rate_limits.html#response-headers
+ */
+final class RateLimitScheduler {
+    /**
+     * The fraction of the limit below which requests start to be paced.
+     */
+    private static final double PACING_THRESHOLD = 0.2;
+    /**
+     * The value used when a header has not been seen yet.
+     */
+    private static final int UNKNOWN = -1;
+    /**
+     * The length of the window, which Gitlab does not report; this is the
+     * period of its rate limits.
+     */
+    private static final long WINDOW_MILLIS = 60_000L;
+    /**
+     * Whether requests are delayed by this scheduler; if not, the budget is
+     * still tracked.
+     */
+    private final boolean enabled;
+    /**
+     * The request limit of the window, from {@code RateLimit-Limit}.
+     */
+    private int limit = UNKNOWN;
+    /**
+     * The remaining requests of the window, from {@code RateLimit-Remaining},
+     * minus the requests scheduled since.
+     */
+    private int remaining = UNKNOWN;
+    /**
+     * The epoch millis when the window resets, from {@code RateLimit-Reset}.
+     */
+    private long resetAt;
+    /**
+     * The epoch millis before which no request should be sent, from {@code Retry-After}.
+     */
+    private long blockedUntil;
+    /**
+     * The epoch millis of the next free slot while pacing.
+     */
+    private long nextSlot;
+
+    /**
+     * Constructs the {@code RateLimitScheduler}.
+     *
+     * @param enabled whether requests are delayed, or the budget is only tracked
+     */
+    RateLimitScheduler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Tests if requests are delayed by this scheduler.
+     *
+     * @return true if requests are delayed by this scheduler
+     */
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the remaining requests of the current window as last reported
+     * by Gitlab, minus the requests scheduled since.
+     *
+     * @return the remaining requests, or {@link Integer#MAX_VALUE} if unknown or the window has reset
+     */
+    synchronized int getRemaining() {
+        if (remaining == UNKNOWN || System.currentTimeMillis() >= resetAt) {
+            return Integer.MAX_VALUE;
+        }
+        return remaining;
+    }
+
+    /**
+     * Books a slot for the next request and returns how long to wait before
+     * sending it.
+     *
+     * @return the delay in milliseconds before the request may be sent, 0 to send it now
+     */
+    synchronized long reserve() {
+        if (!enabled) {
+            // still count the request, so that reads are spread over the tokens of a pool
+            if (remaining > 0) {
+                remaining--;
+            }
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long start = Math.max(now, blockedUntil);
+        if (remaining != UNKNOWN && resetAt > start) {
+            if (remaining <= 0) {
+                // wait for the reset, then take the slots of the next window in turn
+                start = Math.max(resetAt, nextSlot);
+                nextSlot = start + (limit > 0 ? WINDOW_MILLIS / limit : 0);
+            } else if (limit > 0 && remaining < limit * PACING_THRESHOLD) {
+                start = Math.max(start, nextSlot);
+                nextSlot = start + (resetAt - start) / remaining;
+                remaining--;
+            } else {
+                remaining--;
+            }
+        }
+        return start - now;
+    }
+
+    /**
+     * Blocks the calling thread until the next request may be sent.
+     *
+     * @throws GitlabException if the thread is interrupted while waiting
+     */
+    void acquire() {
+        long delay = reserve();
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GitlabException(e);
+            }
+        }
+    }
+
+    /**
+     * Updates the budget from the rate limit headers of the given response.
+     *
+     * @param response the response
+     */
+    synchronized void update(Response response) {
+        long now = System.currentTimeMillis();
+        int newLimit = parseInt(response.header("RateLimit-Limit"));
+        int newRemaining = parseInt(response.header("RateLimit-Remaining"));
+        int reset = parseInt(response.header("RateLimit-Reset"));
+        if (newLimit != UNKNOWN) {
+            limit = newLimit;
+        }
+        if (newRemaining != UNKNOWN) {
+            remaining = newRemaining;
+        }
+        if (reset != UNKNOWN) {
+            resetAt = reset * 1000L;
+        }
+        if (response.code() == HttpClient.HTTP_TOO_MANY_REQUESTS) {
+            int retryAfter = parseInt(response.header("Retry-After"));
+            if (retryAfter != UNKNOWN) {
+                blockedUntil = now + retryAfter * 1000L;
+            } else if (resetAt > now) {
+                blockedUntil = resetAt;
+            } else {
+                blockedUntil = now + 1000L;
+            }
+            remaining = 0;
+        }
+    }
+
+    /**
+     * Parses a numeric header.
+     *
+     * @param value the value of the header, may be null
+     * @return the parsed value, or {@link #UNKNOWN} if absent or malformed
+     */
+    private static int parseInt(String value) {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package org.gitlab.api;
+
+/**
+ * This is the class that represents the metrics of one attempt of a HTTP
+ * request, reported to a {@link MetricsListener}.
+ *
+ * The endpoint is the template of the url rather than the url itself, e.g.
+ * {@code /projects/{id}/issues/{iid}} for {@code /projects/1234/issues/5?foo=bar},
+ * so that requests to the same endpoint can be aggregated.
+ */
+public final class RequestMetrics {
+    /**
+     * The HTTP method, e.g. GET
+     */
+    private final String method;
+    /**
+     * The template of the url without the API namespace, e.g. /projects/{id}/issues
+     */
+    private final String endpoint;
+    /**
+     * The status code of the response, or 0 if no response was received
+     */
+    private final int statusCode;
+    /**
+     * The number of bytes of the response body read
+     */
+    private final long bytesReceived;
+    /**
+     * The time from sending the request to receiving the response headers in nanoseconds
+     */
+    private final long timeToFirstByteNanos;
+    /**
+     * The time from sending the request to the end of handling the response in nanoseconds
+     */
+    private final long latencyNanos;
+    /**
+     * The time spent handling the response body in nanoseconds
+     */
+    private final long parseNanos;
+
+    /**
+     * Constructs the {@code RequestMetrics}.
+     *
+     * @param method               the HTTP method
+     * @param endpoint             the template of the url
+     * @param statusCode           the status code, or 0 if no response was received
+     * @param bytesReceived        the number of bytes of the response body read
+     * @param timeToFirstByteNanos the time to the response headers in nanoseconds
+     * @param latencyNanos         the total time in nanoseconds
+     * @param parseNanos           the time spent handling the response body in nanoseconds
+     */
+    RequestMetrics(String method, String endpoint, int statusCode, long bytesReceived, long timeToFirstByteNanos,
+                   long latencyNanos, long parseNanos) {
+        this.method = method;
+        this.endpoint = endpoint;
+        this.statusCode = statusCode;
+        this.bytesReceived = bytesReceived;
+        this.timeToFirstByteNanos = timeToFirstByteNanos;
+        this.latencyNanos = latencyNanos;
+        this.parseNanos = parseNanos;
+    }
+
+    /**
+     * Returns the HTTP method, e.g. {@code GET}.
+     *
+     * @return the HTTP method
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Returns the template of the url without the API namespace,
+     * e.g. {@code /projects/{id}/issues}.
+     *
+     * @return the endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Returns the status code of the response, or 0 if the request failed
+     * with an {@link java.io.IOException} before a response was received.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the number of bytes of the response body that were read. It is
+     * 0 for a response that is retried or that answers a conditional request
+     * from the cache.
+     *
+     * @return the number of bytes received
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Returns the time from sending the request to receiving the response
+     * headers, including connecting, in nanoseconds. It is 0 if no response
+     * was received.
+     *
+     * @return the time to first byte in nanoseconds
+     */
+    public long getTimeToFirstByteNanos() {
+        return timeToFirstByteNanos;
+    }
+
+    /**
+     * Returns the time from sending the request to the end of handling the
+     * response in nanoseconds. The time waiting for the rate limit or for a
+     * retry is not included.
+     *
+     * @return the total latency in nanoseconds
+     */
+    public long getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Returns the time spent handling the response body in nanoseconds. The
+     * body is parsed as it is streamed, so this includes reading the rest of
+     * the body from the network.
+     *
+     * @return the parse time in nanoseconds
+     */
+    public long getParseNanos() {
+        return parseNanos;
+    }
+
+    /**
+     * The string representation of these metrics
+     *
+     * @return the string representation of these metrics
+     */
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "method=" + method +
+                ", endpoint=" + endpoint +
+                ", statusCode=" + statusCode +
+                ", bytesReceived=" + bytesReceived +
+                ", timeToFirstByteNanos=" + timeToFirstByteNanos +
+                ", latencyNanos=" + latencyNanos +
+                ", parseNanos=" + parseNanos +
+                '}';
+    }
+}
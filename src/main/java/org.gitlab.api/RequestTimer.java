@@ -0,0 +1,133 @@
+package org.gitlab.api;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+import java.io.InputStream;
+
+/**
+ * Measures one attempt of a HTTP request for {@link RequestMetrics} and the
+ * Java Flight Recorder event of the request. It is started right before the
+ * request is sent, and only created if a {@link MetricsListener} other than
+ * {@link MetricsListener#none()} is set or a recording has enabled the event.
+ */
+final class RequestTimer {
+    /**
+     * When the request was sent
+     */
+    private final long sentAt = System.nanoTime();
+    /**
+     * The time waiting for the rate limit before the request was sent
+     */
+    private final long queueWaitNanos;
+    /**
+     * The Java Flight Recorder event of the request, or null if not enabled
+     */
+    private final Object event = FlightRecorderEvents.startApiCall();
+    /**
+     * When the response headers were received, or 0
+     */
+    private long firstByteAt;
+    /**
+     * When handling the response body started, or 0
+     */
+    private long parseFrom;
+    /**
+     * When handling the response body ended, or 0
+     */
+    private long parseTo;
+    /**
+     * The response body stream being counted, or null
+     */
+    private CountingInputStream counter;
+    /**
+     * The bytes of the response body read without the counter
+     */
+    private long bytes;
+    /**
+     * Whether the metrics have been taken
+     */
+    private boolean finished;
+
+    /**
+     * Starts measuring a request that has been sent now.
+     *
+     * @param queuedAt when the request started waiting for the rate limit, from {@link System#nanoTime()}
+     */
+    RequestTimer(long queuedAt) {
+        queueWaitNanos = sentAt - queuedAt;
+    }
+
+    /**
+     * Marks that the response headers have been received.
+     */
+    void onFirstByte() {
+        firstByteAt = System.nanoTime();
+    }
+
+    /**
+     * Marks that handling the given response body starts, and returns the
+     * stream to be handled instead so that the bytes read are counted.
+     *
+     * @param responseBody the response body stream
+     * @return the stream counting the bytes read from the response body
+     */
+    InputStream startParsing(InputStream responseBody) {
+        counter = new CountingInputStream(responseBody);
+        parseFrom = System.nanoTime();
+        return counter;
+    }
+
+    /**
+     * Marks that handling the response body has ended.
+     */
+    void endParsing() {
+        parseTo = System.nanoTime();
+    }
+
+    /**
+     * Adds bytes of the response body read without the counting stream,
+     * e.g. by buffering the body.
+     *
+     * @param count the number of bytes
+     */
+    void addBytes(long count) {
+        bytes += count;
+    }
+
+    /**
+     * Tests if the measurement has ended
+     *
+     * @return true if the metrics have been taken
+     */
+    boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Ends the measurement and returns the metrics.
+     *
+     * @param method     the HTTP method
+     * @param endpoint   the template of the url
+     * @param statusCode the status code, or 0 if no response was received
+     * @return the metrics of the request
+     */
+    RequestMetrics finish(String method, String endpoint, int statusCode) {
+        long now = System.nanoTime();
+        finished = true;
+        return new RequestMetrics(method, endpoint, statusCode,
+                bytes + (counter == null ? 0 : counter.getByteCount()),
+                firstByteAt == 0 ? 0 : firstByteAt - sentAt,
+                now - sentAt,
+                parseFrom == 0 ? 0 : (parseTo == 0 ? now : parseTo) - parseFrom);
+    }
+
+    /**
+     * Commits the Java Flight Recorder event of the request, if enabled.
+     *
+     * @param metrics the metrics returned by {@link #finish(String, String, int)}
+     * @param page    the page number of the request, or 0
+     */
+    void commitEvent(RequestMetrics metrics, int page) {
+        FlightRecorderEvents.commitApiCall(event, metrics, queueWaitNanos, page);
+    }
+}
@@ -0,0 +1,52 @@
+package org.gitlab.api;
+
+/**
+ * This class keeps the retries of a client within a fraction of its
+ * requests, as a token bucket: every request deposits
+ * {@link RetryPolicy#getRetryRatio()} of a token, and every retry withdraws a
+ * whole one. The bucket starts full so that occasional failures are retried
+ * right away.
+ */
+final class RetryBudget {
+    /**
+     * The capacity of the bucket, i.e. the burst of retries allowed.
+     */
+    private static final double MAX_TOKENS = 10;
+    /**
+     * The tokens deposited by each request.
+     */
+    private final double ratio;
+    /**
+     * The tokens in the bucket, guarded by {@code this}.
+     */
+    private double tokens = MAX_TOKENS;
+
+    /**
+     * Constructs the {@code RetryBudget} of the given policy.
+     *
+     * @param retryPolicy the retry policy
+     */
+    RetryBudget(RetryPolicy retryPolicy) {
+        this.ratio = retryPolicy.getRetryRatio();
+    }
+
+    /**
+     * Records a new request, which earns a fraction of a retry.
+     */
+    synchronized void onRequest() {
+        tokens = Math.min(MAX_TOKENS, tokens + ratio);
+    }
+
+    /**
+     * Withdraws a retry from the budget if there is one left.
+     *
+     * @return true if the retry may be sent
+     */
+    synchronized boolean tryRetry() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        return true;
+    }
+}
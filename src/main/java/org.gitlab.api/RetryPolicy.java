@@ -0,0 +1,208 @@
+package org.gitlab.api;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This is the class that represents how failed requests are retried: the
+ * maximum number of attempts, the exponential backoff between attempts, and
+ * the retry budget that stops retries from piling up when Gitlab is down.
+ *
+ * A request is retried if it fails with an {@link java.io.IOException} (e.g.
+ * a timeout) or with {@code 502}, {@code 503} or {@code 504}. By default only
+ * GET requests are retried, since the other methods may not be idempotent.
+ *
+ * The delay before the n-th retry is picked at random between 0 and
+ * {@code min(maxBackoff, initialBackoff * 2^(n-1))} ("full jitter"), so that
+ * clients failing at the same time do not retry at the same time.
+ */
+public final class RetryPolicy {
+    /**
+     * The default fraction of requests that may be retries.
+     */
+    private static final double DEFAULT_RETRY_RATIO = 0.1;
+    /**
+     * The policy that never retries.
+     */
+    private static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, DEFAULT_RETRY_RATIO, false);
+    /**
+     * The maximum number of attempts, including the first one.
+     */
+    private final int maxAttempts;
+    /**
+     * The upper bound of the delay before the first retry in milliseconds.
+     */
+    private final long initialBackoffMillis;
+    /**
+     * The upper bound of the delay before any retry in milliseconds.
+     */
+    private final long maxBackoffMillis;
+    /**
+     * The fraction of requests that may be retries.
+     */
+    private final double retryRatio;
+    /**
+     * Whether PUT, POST and DELETE requests are retried too.
+     */
+    private final boolean nonIdempotentRetries;
+
+    /**
+     * Constructs the {@code RetryPolicy}.
+     *
+     * @param maxAttempts          the maximum number of attempts
+     * @param initialBackoffMillis the upper bound of the delay before the first retry
+     * @param maxBackoffMillis     the upper bound of the delay before any retry
+     * @param retryRatio           the fraction of requests that may be retries
+     * @param nonIdempotentRetries whether PUT, POST and DELETE requests are retried too
+     */
+    private RetryPolicy(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, double retryRatio,
+                        boolean nonIdempotentRetries) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.retryRatio = retryRatio;
+        this.nonIdempotentRetries = nonIdempotentRetries;
+    }
+
+    /**
+     * Returns the {@code RetryPolicy} that never retries, which is the default.
+     *
+     * @return the {@code RetryPolicy} that never retries
+     */
+    public static RetryPolicy none() {
+        return NONE;
+    }
+
+    /**
+     * Returns {@code RetryPolicy} with specified attempts and backoff, which
+     * retries GET requests only, and allows retries for up to 10% of the
+     * requests.
+     *
+     * @param maxAttempts          the maximum number of attempts, including the first one (at least 1)
+     * @param initialBackoffMillis the upper bound of the delay before the first retry in milliseconds
+     * @param maxBackoffMillis     the upper bound of the delay before any retry in milliseconds
+     * @return a {@code RetryPolicy} object
+     * @throws IllegalArgumentException if maxAttempts is not positive, or a backoff is negative, or
+     *                                  maxBackoffMillis is less than initialBackoffMillis
+     */
+    public static RetryPolicy of(int maxAttempts, long initialBackoffMillis, long maxBackoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("cannot have non-positive attempts");
+        }
+        if (initialBackoffMillis < 0 || maxBackoffMillis < initialBackoffMillis) {
+            throw new IllegalArgumentException("cannot have negative backoff or max backoff less than initial");
+        }
+        return new RetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis, DEFAULT_RETRY_RATIO, false);
+    }
+
+    /**
+     * Returns a copy of this {@code RetryPolicy} with the given retry budget.
+     *
+     * Every request earns {@code retryRatio} of a retry, and every retry
+     * spends one, so that when most requests fail, retries stop instead of
+     * multiplying the load on Gitlab.
+     *
+     * @param retryRatio the fraction of requests that may be retries, between 0 and 1
+     * @return a {@code RetryPolicy} with the given retry budget
+     * @throws IllegalArgumentException if retryRatio is not between 0 and 1
+     */
+    public RetryPolicy withRetryBudget(double retryRatio) {
+        if (retryRatio < 0 || retryRatio > 1) {
+            throw new IllegalArgumentException("cannot have retry ratio out of [0, 1]");
+        }
+        return new RetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis, retryRatio,
+                nonIdempotentRetries);
+    }
+
+    /**
+     * Returns a copy of this {@code RetryPolicy} that retries PUT, POST and
+     * DELETE requests too if nonIdempotentRetries is true.
+     *
+     * @param nonIdempotentRetries whether PUT, POST and DELETE requests are retried too
+     * @return a {@code RetryPolicy} with the given methods
+     */
+    public RetryPolicy withNonIdempotentRetries(boolean nonIdempotentRetries) {
+        return new RetryPolicy(maxAttempts, initialBackoffMillis, maxBackoffMillis, retryRatio,
+                nonIdempotentRetries);
+    }
+
+    /**
+     * Returns the maximum number of attempts of this {@code RetryPolicy}.
+     *
+     * @return the maximum number of attempts, including the first one
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Returns the upper bound of the delay before the first retry.
+     *
+     * @return the initial backoff in milliseconds
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    /**
+     * Returns the upper bound of the delay before any retry.
+     *
+     * @return the maximum backoff in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Returns the fraction of requests that may be retries.
+     *
+     * @return the retry ratio
+     */
+    public double getRetryRatio() {
+        return retryRatio;
+    }
+
+    /**
+     * Tests if PUT, POST and DELETE requests are retried too.
+     *
+     * @return true if PUT, POST and DELETE requests are retried too
+     */
+    public boolean isNonIdempotentRetries() {
+        return nonIdempotentRetries;
+    }
+
+    /**
+     * Tests if a request with the given method may be retried after the
+     * given attempt.
+     *
+     * @param method  the HTTP method of the request
+     * @param attempt the number of the failed attempt, starting from 1
+     * @return true if the request may be retried
+     */
+    boolean canRetry(String method, int attempt) {
+        return attempt < maxAttempts && (nonIdempotentRetries || "GET".equals(method));
+    }
+
+    /**
+     * Tests if a response code tells that the failure is transient.
+     *
+     * @param code the response code
+     * @return true if the request may succeed when sent again
+     */
+    static boolean isRetryable(int code) {
+        return code == 502 || code == 503 || code == 504;
+    }
+
+    /**
+     * Returns a random delay before the retry following the given attempt.
+     *
+     * @param attempt the number of the failed attempt, starting from 1
+     * @return the delay in milliseconds
+     */
+    long backoffMillis(int attempt) {
+        long bound = initialBackoffMillis << Math.min(attempt - 1, 30);
+        if (bound <= 0 || bound > maxBackoffMillis) {
+            bound = maxBackoffMillis;
+        }
+        return bound == 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+    }
+}
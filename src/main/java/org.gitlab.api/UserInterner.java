@@ -0,0 +1,206 @@
+package org.gitlab.api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * This is an identity map of the {@link GitlabUser}s embedded in other
+ * components, e.g. the author, assignees and closed_by of
+ * {@link GitlabIssue}s and {@link GitlabMergeRequest}s, so that repeated
+ * users deserialize to one shared instance keyed by {@link GitlabUser#getId()}.
+ *
+ * By default one strongly held map lives for the parsing of a single
+ * response. If enabled with
+ * {@link GitlabAPIClient.Builder#withUserInterning(boolean)}, one weakly held
+ * map is shared by every response of the client instead, so that users are
+ * also shared across pages and requests while they are referenced.
+ *
+ * A user is only replaced by the interned instance if every attribute is
+ * the same, so a user that has changed on Gitlab is never hidden by a stale
+ * instance. Users requested on their own, e.g. by
+ * {@link GitlabAPIClient#getUser(int)} or a {@link GitlabUser.Query}, are
+ * never interned since they are bound to a client.
+ */
+final class UserInterner {
+    /**
+     * The module that interns the embedded users, registered to {@link JsonUtil#MAPPER}
+     */
+    static final SimpleModule MODULE = new SimpleModule("UserInterner")
+            .setDeserializerModifier(new BeanDeserializerModifier() {
+                @Override
+                public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+                                                              BeanDescription beanDesc,
+                                                              JsonDeserializer<?> deserializer) {
+                    return beanDesc.getBeanClass() == GitlabUser.class ?
+                            new Deserializer(deserializer) : deserializer;
+                }
+            });
+    /**
+     * The interned users of a single response, or null if weakly held
+     */
+    private final Map<Integer, GitlabUser> users;
+    /**
+     * The weakly held interned users shared by the responses, or null
+     */
+    private final ConcurrentMap<Integer, UserReference> references;
+    /**
+     * The queue of the references whose user has been collected
+     */
+    private final ReferenceQueue<GitlabUser> queue;
+
+    /**
+     * Constructs an {@link UserInterner}.
+     *
+     * @param weak whether the users are weakly held and the interner is thread-safe
+     */
+    private UserInterner(boolean weak) {
+        users = weak ? null : new HashMap<>();
+        references = weak ? new ConcurrentHashMap<>() : null;
+        queue = weak ? new ReferenceQueue<>() : null;
+    }
+
+    /**
+     * Returns a new interner holding the users of a single response.
+     *
+     * @return a new interner for a single response
+     */
+    static UserInterner perResponse() {
+        return new UserInterner(false);
+    }
+
+    /**
+     * Returns a new thread-safe interner weakly holding the users of every
+     * response of a client.
+     *
+     * @return a new interner for a client
+     */
+    static UserInterner weak() {
+        return new UserInterner(true);
+    }
+
+    /**
+     * Returns the interned instance of the given user, which is the given
+     * user itself if there is none yet or if the interned one differs in any
+     * attribute. In both cases the given user becomes the interned instance.
+     *
+     * @param user the freshly parsed user
+     * @return the shared instance equal in every attribute to the given user
+     */
+    GitlabUser intern(GitlabUser user) {
+        if (users != null) {
+            GitlabUser interned = users.get(user.getId());
+            if (interned != null && interned.hasSameContent(user)) {
+                return interned;
+            }
+            users.put(user.getId(), user);
+            return user;
+        }
+        expungeCollected();
+        UserReference reference = references.get(user.getId());
+        GitlabUser interned = reference == null ? null : reference.get();
+        if (interned != null && interned.hasSameContent(user)) {
+            return interned;
+        }
+        // a concurrent put of the same id only costs sharing, not correctness
+        references.put(user.getId(), new UserReference(user, queue));
+        return user;
+    }
+
+    /**
+     * Returns the number of users interned, including weakly held ones that
+     * have been collected but not yet removed.
+     *
+     * @return the number of users interned
+     */
+    int size() {
+        return users != null ? users.size() : references.size();
+    }
+
+    /**
+     * Removes the entries of the weakly held users that have been collected.
+     */
+    private void expungeCollected() {
+        UserReference reference;
+        while ((reference = (UserReference) queue.poll()) != null) {
+            references.remove(reference.id, reference);
+        }
+    }
+
+    /**
+     * The weak reference to an interned user that remembers its id, so that
+     * its entry can be removed once the user has been collected.
+     */
+    private static final class UserReference extends WeakReference<GitlabUser> {
+        private final int id;
+
+        UserReference(GitlabUser user, ReferenceQueue<GitlabUser> queue) {
+            super(user, queue);
+            id = user.getId();
+        }
+    }
+
+    /**
+     * The deserializer of {@link GitlabUser} that wraps the bean deserializer
+     * and interns the users nested in another component. It uses the
+     * interner set on the reader as the attribute {@code UserInterner.class},
+     * or else one for the current response.
+     */
+    private static final class Deserializer extends DelegatingDeserializer {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer(JsonDeserializer<?> delegatee) {
+            super(delegatee);
+        }
+
+        @Override
+        protected JsonDeserializer<?> newDelegatingInstance(JsonDeserializer<?> newDelegatee) {
+            return new Deserializer(newDelegatee);
+        }
+
+        @Override
+        public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            boolean nested = isNested(p.getParsingContext());
+            Object value = _delegatee.deserialize(p, ctxt);
+            if (!nested || !(value instanceof GitlabUser)) {
+                return value;
+            }
+            UserInterner interner = (UserInterner) ctxt.getAttribute(UserInterner.class);
+            if (interner == null) {
+                interner = perResponse();
+                ctxt.setAttribute(UserInterner.class, interner);
+            }
+            return interner.intern((GitlabUser) value);
+        }
+
+        /**
+         * Tests if the user object of the given context is nested in another
+         * component, either as a field or as an element of an array field,
+         * rather than being the response itself or an element of it.
+         *
+         * @param context the parsing context of the user object
+         * @return true if the user is nested in another component
+         */
+        private static boolean isNested(JsonStreamContext context) {
+            JsonStreamContext parent = context.getParent();
+            while (parent != null && parent.inArray()) {
+                parent = parent.getParent();
+            }
+            return parent != null && parent.inObject();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.gitlab.api;
+
+import java.nio.file.Path;
+import java.time.ZonedDateTime;
+
+/**
+ * This is the interface of the store where {@link SyncEngine} keeps, for each
+ * project and kind of component, the latest {@code updated_at} it has synced.
+ *
+ * Implementations must be thread-safe.
+ */
+public interface WatermarkStore {
+    /**
+     * Returns a store that keeps the watermarks in memory only, e.g. for
+     * tests or for a long-running process that syncs periodically.
+     *
+     * @return a new in-memory {@link WatermarkStore}
+     */
+    static WatermarkStore inMemory() {
+        return new MemoryWatermarkStore();
+    }
+
+    /**
+     * Returns a store that keeps the watermarks in the given properties file,
+     * which is created on the first write. The file is replaced atomically on
+     * each write, so that an interrupted write never loses the watermarks.
+     *
+     * @param file the properties file
+     * @return a new file-backed {@link WatermarkStore}
+     * @throws GitlabException if the file exists but cannot be read
+     */
+    static WatermarkStore file(Path file) {
+        return new FileWatermarkStore(file);
+    }
+
+    /**
+     * Returns the watermark of the given key.
+     *
+     * @param key the key, e.g. {@code issues/1234}
+     * @return the watermark, or null if the key has never been synced
+     */
+    ZonedDateTime get(String key);
+
+    /**
+     * Sets the watermark of the given key.
+     *
+     * @param key       the key, e.g. {@code issues/1234}
+     * @param watermark the new watermark
+     * @throws GitlabException if the watermark cannot be persisted
+     */
+    void put(String key, ZonedDateTime watermark);
+}
@@ -0,0 +1,65 @@
+package org.gitlab.api;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagCacheTest {
+    private static final Headers HEADERS = Headers.of("X-Page", "1");
+
+    @Test
+    void evictsByBytes() {
+        ETagCache cache = new ETagCache(10, 100);
+        cache.put("a", "\"a\"", HEADERS, new byte[40]);
+        cache.put("b", "\"b\"", HEADERS, new byte[40]);
+        assertEquals(80, cache.getBytes());
+        // a was used more recently than b, so b is evicted to make room for c
+        assertNotNull(cache.get("a"));
+        cache.put("c", "\"c\"", HEADERS, new byte[40]);
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+        assertEquals(80, cache.getBytes());
+        // one large body evicts both
+        cache.put("d", "\"d\"", HEADERS, new byte[100]);
+        assertNull(cache.get("a"));
+        assertNull(cache.get("c"));
+        assertEquals(100, cache.getBytes());
+    }
+
+    @Test
+    void replacesAndSkipsOversizedBodies() {
+        ETagCache cache = new ETagCache(10, 100);
+        cache.put("a", "\"1\"", HEADERS, new byte[60]);
+        cache.put("a", "\"2\"", HEADERS, new byte[30]);
+        assertEquals("\"2\"", cache.get("a").getEtag());
+        assertEquals(30, cache.getBytes());
+        // a body over the whole budget is not kept, nor is the previous response of its url
+        cache.put("b", "\"b\"", HEADERS, new byte[20]);
+        cache.put("a", "\"3\"", HEADERS, new byte[101]);
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertEquals(20, cache.getBytes());
+    }
+
+    @Test
+    void evictsByCount() {
+        ETagCache cache = new ETagCache(2, 1000);
+        cache.put("a", "\"a\"", HEADERS, new byte[1]);
+        cache.put("b", "\"b\"", HEADERS, new byte[2]);
+        cache.put("c", "\"c\"", HEADERS, new byte[3]);
+        assertNull(cache.get("a"));
+        assertEquals(5, cache.getBytes());
+    }
+
+    @Test
+    void of() {
+        assertThrows(IllegalArgumentException.class, () -> new ETagCache(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new ETagCache(1, 0));
+        GitlabAPIClient.Builder builder = new GitlabAPIClient.Builder("http://127.0.0.1");
+        assertThrows(IllegalArgumentException.class, () -> builder.withConditionalRequests(10, 0));
+        assertEquals(1024, builder.withConditionalRequests(10, 1024).build().getConditionalCacheBytes());
+        assertEquals(32L << 20, builder.withConditionalRequests(10).build().getConditionalCacheBytes());
+    }
+}
@@ -0,0 +1,74 @@
+package org.gitlab.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GitlabComponentTest {
+
+    @Test
+    void markCleanClearsSentFields() {
+        GitlabIssue issue = new GitlabIssue("title");
+        assertFalse(issue.isDirty());
+        issue.withTitle("new title").withDescription("new description");
+        Map<String, Long> versions = issue.getDirtyVersions();
+        Body body = issue.getUpdateBody(versions.keySet());
+        assertEquals(new HashSet<>(Arrays.asList("title", "description")), body.keySet());
+        issue.markClean(body, versions);
+        assertFalse(issue.isDirty());
+    }
+
+    @Test
+    void markCleanKeepsFieldsChangedSinceBodyWasBuilt() {
+        GitlabIssue issue = new GitlabIssue("title");
+        issue.withTitle("sent title").withDescription("sent description");
+        Map<String, Long> versions = issue.getDirtyVersions();
+        Body body = issue.getUpdateBody(versions.keySet());
+        // changed while the request is in flight
+        issue.withTitle("newer title");
+        issue.markClean(body, versions);
+        assertTrue(issue.isDirty());
+        assertEquals(1, issue.getDirtyVersions().size());
+        assertTrue(issue.getDirtyVersions().containsKey("title"));
+    }
+
+    @Test
+    void markCleanKeepsFieldsNotSent() {
+        GitlabIssue issue = new GitlabIssue("title");
+        issue.withTitle("sent title");
+        Map<String, Long> versions = issue.getDirtyVersions();
+        Body body = issue.getUpdateBody(versions.keySet());
+        // changed after the versions were taken, so it is not in the body
+        issue.withDescription("unsent description");
+        issue.markClean(body, versions);
+        assertEquals(1, issue.getDirtyVersions().size());
+        assertTrue(issue.getDirtyVersions().containsKey("description"));
+    }
+
+    @Test
+    void updateBodyOnlyHasChangedFields() {
+        GitlabIssue issue = new GitlabIssue("title").withLabels(Arrays.asList("bug"));
+        Map<String, Long> versions = issue.getDirtyVersions();
+        issue.markClean(issue.getUpdateBody(versions.keySet()), versions);
+        issue.withDescription("new description");
+        Body body = issue.getUpdateBody(issue.getDirtyVersions().keySet());
+        assertEquals(Collections.singleton("description"), body.keySet());
+        assertEquals("new description", body.getMap().get("description"));
+        assertTrue(issue.getUpdateBody(Collections.emptySet()).keySet().isEmpty());
+    }
+
+    @Test
+    void listsCannotBeChangedBehindSetters() {
+        GitlabIssue issue = new GitlabIssue("title").withLabels(Arrays.asList("bug"));
+        assertThrows(UnsupportedOperationException.class, () -> issue.getLabels().add("feature"));
+        assertThrows(UnsupportedOperationException.class, () -> issue.getAssignees().clear());
+        issue.withLabels(Arrays.asList("bug", "feature"));
+        assertEquals(Arrays.asList("bug", "feature"), issue.getLabels());
+        assertTrue(issue.getDirtyVersions().containsKey("labels"));
+    }
+}
@@ -0,0 +1,113 @@
+package org.gitlab.api;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitSchedulerTest {
+
+    @Test
+    void unknownBudget() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        assertEquals(0, scheduler.reserve());
+        assertEquals(Integer.MAX_VALUE, scheduler.getRemaining());
+        scheduler.update(response(200, "RateLimit-Remaining", "many", "RateLimit-Reset", ""));
+        assertEquals(0, scheduler.reserve());
+        assertEquals(Integer.MAX_VALUE, scheduler.getRemaining());
+    }
+
+    @Test
+    void reserveCountsRequests() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        scheduler.update(response(200, "RateLimit-Limit", "100", "RateLimit-Remaining", "90",
+                "RateLimit-Reset", resetIn(10)));
+        assertEquals(90, scheduler.getRemaining());
+        assertEquals(0, scheduler.reserve());
+        assertEquals(0, scheduler.reserve());
+        assertEquals(88, scheduler.getRemaining());
+        // a response replaces the count
+        scheduler.update(response(200, "RateLimit-Remaining", "50"));
+        assertEquals(50, scheduler.getRemaining());
+    }
+
+    @Test
+    void disabledOnlyCounts() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(false);
+        scheduler.update(response(200, "RateLimit-Limit", "100", "RateLimit-Remaining", "1",
+                "RateLimit-Reset", resetIn(10)));
+        assertEquals(0, scheduler.reserve());
+        assertEquals(0, scheduler.reserve());
+        assertEquals(0, scheduler.getRemaining());
+    }
+
+    @Test
+    void pacing() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        scheduler.update(response(200, "RateLimit-Limit", "100", "RateLimit-Remaining", "10",
+                "RateLimit-Reset", resetIn(10)));
+        long previous = scheduler.reserve();
+        assertTrue(previous <= 0);
+        for (int i = 0; i < 9; i++) {
+            long delay = scheduler.reserve();
+            // 10 requests spread over 9 to 10 seconds
+            assertTrue(delay - previous >= 800 && delay - previous <= 1200, delay + " after " + previous);
+            previous = delay;
+        }
+        assertTrue(previous < 10_000);
+    }
+
+    @Test
+    void exhaustedWaitersAreSpread() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        scheduler.update(response(200, "RateLimit-Limit", "60", "RateLimit-Remaining", "0",
+                "RateLimit-Reset", resetIn(5)));
+        long first = scheduler.reserve();
+        assertTrue(first > 3_900 && first <= 5_000, String.valueOf(first));
+        // the next window allows 60 requests a minute, one a second
+        long second = scheduler.reserve();
+        long third = scheduler.reserve();
+        assertTrue(second - first >= 990 && second - first <= 1_010, second + " after " + first);
+        assertTrue(third - second >= 990 && third - second <= 1_010, third + " after " + second);
+    }
+
+    @Test
+    void retryAfter() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        scheduler.update(response(HttpClient.HTTP_TOO_MANY_REQUESTS, "Retry-After", "2"));
+        long delay = scheduler.reserve();
+        assertTrue(delay > 1_900 && delay <= 2_000, String.valueOf(delay));
+    }
+
+    @Test
+    void tooManyRequestsWithoutRetryAfterWaitsForReset() {
+        RateLimitScheduler scheduler = new RateLimitScheduler(true);
+        scheduler.update(response(HttpClient.HTTP_TOO_MANY_REQUESTS, "RateLimit-Limit", "60",
+                "RateLimit-Reset", resetIn(3)));
+        assertEquals(0, scheduler.getRemaining());
+        long delay = scheduler.reserve();
+        assertTrue(delay > 1_900 && delay <= 3_000, String.valueOf(delay));
+    }
+
+    /**
+     * Returns the value of {@code RateLimit-Reset} for a window resetting in
+     * the given number of seconds.
+     */
+    private static String resetIn(int seconds) {
+        return String.valueOf(System.currentTimeMillis() / 1000 + seconds);
+    }
+
+    private static Response response(int code, String... headers) {
+        Response.Builder builder = new Response.Builder()
+                .request(new Request.Builder().url("http://localhost/api/v4/projects").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,103 @@
+package org.gitlab.api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyInternalsTest {
+
+    @Test
+    void backoffBounds() {
+        RetryPolicy policy = RetryPolicy.of(10, 100, 1000);
+        for (int i = 0; i < 1000; i++) {
+            assertBetween(0, 100, policy.backoffMillis(1));
+            assertBetween(0, 200, policy.backoffMillis(2));
+            assertBetween(0, 400, policy.backoffMillis(3));
+            // the bound stops doubling at the max backoff, even when the shift overflows
+            assertBetween(0, 1000, policy.backoffMillis(5));
+            assertBetween(0, 1000, policy.backoffMillis(40));
+            assertBetween(0, 1000, policy.backoffMillis(Integer.MAX_VALUE));
+        }
+        assertEquals(0, RetryPolicy.of(3, 0, 0).backoffMillis(2));
+    }
+
+    @Test
+    void backoffJitter() {
+        RetryPolicy policy = RetryPolicy.of(10, 1000, 1000);
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < 1000; i++) {
+            long backoff = policy.backoffMillis(1);
+            min = Math.min(min, backoff);
+            max = Math.max(max, backoff);
+        }
+        // full jitter spreads the delays over the whole range
+        assertTrue(min < 100, String.valueOf(min));
+        assertTrue(max > 900, String.valueOf(max));
+    }
+
+    @Test
+    void isRetryable() {
+        assertTrue(RetryPolicy.isRetryable(502));
+        assertTrue(RetryPolicy.isRetryable(503));
+        assertTrue(RetryPolicy.isRetryable(504));
+        assertFalse(RetryPolicy.isRetryable(200));
+        assertFalse(RetryPolicy.isRetryable(404));
+        assertFalse(RetryPolicy.isRetryable(429));
+        assertFalse(RetryPolicy.isRetryable(500));
+    }
+
+    @Test
+    void canRetry() {
+        RetryPolicy policy = RetryPolicy.of(3, 0, 0);
+        assertTrue(policy.canRetry("GET", 1));
+        assertTrue(policy.canRetry("GET", 2));
+        assertFalse(policy.canRetry("GET", 3));
+        for (String method : new String[]{"POST", "PUT", "DELETE"}) {
+            assertFalse(policy.canRetry(method, 1), method);
+            assertTrue(policy.withNonIdempotentRetries(true).canRetry(method, 1), method);
+            assertFalse(policy.withNonIdempotentRetries(true).canRetry(method, 3), method);
+        }
+        assertFalse(RetryPolicy.none().canRetry("GET", 1));
+    }
+
+    @Test
+    void retryBudget() {
+        RetryBudget budget = new RetryBudget(RetryPolicy.of(3, 0, 0).withRetryBudget(0.5));
+        // the bucket starts full
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryRetry());
+        }
+        assertFalse(budget.tryRetry());
+        // two requests earn one retry
+        budget.onRequest();
+        assertFalse(budget.tryRetry());
+        budget.onRequest();
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+        // the bucket does not grow past its capacity
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryRetry());
+        }
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    void noRetryBudget() {
+        RetryBudget budget = new RetryBudget(RetryPolicy.of(3, 0, 0).withRetryBudget(0));
+        for (int i = 0; i < 10; i++) {
+            assertTrue(budget.tryRetry());
+        }
+        for (int i = 0; i < 100; i++) {
+            budget.onRequest();
+        }
+        assertFalse(budget.tryRetry());
+    }
+
+    private static void assertBetween(long min, long max, long value) {
+        assertTrue(value >= min && value <= max, value + " not in [" + min + ", " + max + "]");
+    }
+}
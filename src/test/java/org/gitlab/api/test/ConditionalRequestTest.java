@@ -0,0 +1,85 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConditionalRequestTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private GitlabAPIClient client;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String validator = exchange.getRequestHeaders().getFirst("If-None-Match");
+            requests.add(path + (validator == null ? "" : " " + validator));
+            String id = path.substring(path.lastIndexOf('/') + 1);
+            if (validator != null) {
+                // evict the kept response of this project while its conditional request is in flight
+                client.getProject(2);
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            respond(exchange, id);
+        });
+        // the handler of a conditional request makes a request itself
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        client = new GitlabAPIClient.Builder("http://127.0.0.1:" + server.getAddress().getPort())
+                .withAccessToken("secret")
+                .withConditionalRequests(1)
+                .build();
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    void resendsWhenKeptResponseIsEvicted() {
+        assertEquals("project1", client.getProject(1).getName());
+        assertEquals("project1", client.getProject(1).getName());
+        assertEquals("[/api/v4/projects/1, /api/v4/projects/1 \"1\", /api/v4/projects/2, /api/v4/projects/1]",
+                requests.toString());
+    }
+
+    @Test
+    void resendsAsyncWhenKeptResponseIsEvicted() {
+        assertEquals("project1", client.getProjectAsync(1).join().getName());
+        assertEquals("project1", client.getProjectAsync(1).join().getName());
+        assertEquals("[/api/v4/projects/1, /api/v4/projects/1 \"1\", /api/v4/projects/2, /api/v4/projects/1]",
+                requests.toString());
+    }
+
+    private static void respond(HttpExchange exchange, String id) throws IOException {
+        byte[] body = ("{\"id\":" + id + ",\"name\":\"project" + id + "\"}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("ETag", "\"" + id + "\"");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.EntityCache;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTest {
+
+    @Test
+    void lru() {
+        AtomicInteger loads = new AtomicInteger();
+        EntityCache<Integer, String> cache = EntityCache.lru(2, 0);
+        assertEquals("1", cache.get(1, key -> String.valueOf(loads.incrementAndGet())));
+        assertEquals("1", cache.get(1, key -> String.valueOf(loads.incrementAndGet())));
+        assertEquals(1, loads.get());
+        cache.get(2, String::valueOf);
+        // 1 was used more recently than 2, so 2 is evicted
+        cache.get(1, String::valueOf);
+        cache.get(3, String::valueOf);
+        assertEquals("1", cache.get(1, key -> "reloaded"));
+        assertEquals("reloaded", cache.get(2, key -> "reloaded"));
+    }
+
+    @Test
+    void ttl() throws InterruptedException {
+        EntityCache<Integer, String> cache = EntityCache.lru(10, 20);
+        cache.get(1, key -> "first");
+        assertEquals("first", cache.get(1, key -> "second"));
+        Thread.sleep(50);
+        assertEquals("second", cache.get(1, key -> "second"));
+    }
+
+    @Test
+    void invalidate() {
+        EntityCache<Integer, String> cache = EntityCache.lru(10, 0);
+        cache.get(1, key -> "first");
+        cache.get(2, key -> "first");
+        cache.invalidate(1);
+        assertEquals("second", cache.get(1, key -> "second"));
+        assertEquals("first", cache.get(2, key -> "second"));
+        cache.invalidateAll();
+        assertEquals("second", cache.get(2, key -> "second"));
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        EntityCache<Integer, String> cache = EntityCache.lru(10, 0);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get(1, key -> {
+                    loads.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return "loaded";
+                })));
+            }
+            started.await();
+            // let the other callers reach the load in flight
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("loaded", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedLoadIsShared() throws Exception {
+        EntityCache<Integer, String> cache = EntityCache.lru(10, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> loader = executor.submit(() -> cache.get(1, key -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("failed");
+            }));
+            started.await();
+            Future<String> waiter = executor.submit(() -> cache.get(1, key -> "second load"));
+            Thread.sleep(100);
+            release.countDown();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> loader.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            e = assertThrows(ExecutionException.class, () -> waiter.get(5, TimeUnit.SECONDS));
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            // a failure is not cached
+            assertEquals("reloaded", cache.get(1, key -> "reloaded"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void invalidateDuringLoad() throws Exception {
+        EntityCache<Integer, String> cache = EntityCache.lru(10, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> stale = executor.submit(() -> cache.get(1, key -> {
+                started.countDown();
+                await(release);
+                return "stale";
+            }));
+            started.await();
+            cache.invalidate(1);
+            release.countDown();
+            assertEquals("stale", stale.get(5, TimeUnit.SECONDS));
+            // the load started before the invalidation is not cached
+            assertEquals("fresh", cache.get(1, key -> "fresh"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void of() {
+        assertThrows(IllegalArgumentException.class, () -> EntityCache.lru(0, 0));
+        assertThrows(IllegalArgumentException.class, () -> EntityCache.lru(1, -1));
+    }
+
+    @Test
+    void projectCopies() throws IOException {
+        AtomicInteger projectRequests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            String json = "[{\"id\":1,\"iid\":1,\"project_id\":7},{\"id\":2,\"iid\":2,\"project_id\":7}]";
+            if (path.equals("/api/v4/projects/7")) {
+                projectRequests.incrementAndGet();
+                json = "{\"id\":7,\"name\":\"cached\"}";
+            }
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            GitlabAPIClient client = new GitlabAPIClient.Builder("http://127.0.0.1:" + server.getAddress().getPort())
+                    .withAccessToken("secret")
+                    .withProjectCache(EntityCache.lru(10, 0))
+                    .build();
+            List<GitlabIssue> issues = client.getIssuesQuery().query();
+            GitlabProject first = issues.get(0).getProject();
+            GitlabProject second = issues.get(1).getProject();
+            assertEquals(1, projectRequests.get());
+            assertNotSame(first, second);
+            assertEquals(first, second);
+            // changing one copy leaves the cached project untouched
+            first.withName("changed");
+            assertEquals("cached", second.getName());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
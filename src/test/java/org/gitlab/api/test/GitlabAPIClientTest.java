@@ -1,12 +1,33 @@
 package org.gitlab.api.test;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
 import org.gitlab.api.GitlabProject;
 import org.gitlab.api.GitlabUser;
+import org.gitlab.api.InMemoryMetrics;
 import org.gitlab.api.Pagination;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class GitlabAPIClientTest {
     private static final GitlabAPIClient CLIENT = new GitlabAPIClient
@@ -40,4 +61,126 @@ public class GitlabAPIClientTest {
         GitlabUser user = CLIENT.getUser(currentUser.getId());
         assertEquals(user, currentUser);
     }
+
+    @Test
+    void testSharedTransport() {
+        GitlabAPIClient client = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .withAccessToken(System.getenv("TOKEN"))
+                .withSharedTransport(CLIENT)
+                .build();
+        assertEquals(CLIENT.getCurrentUser(), client.getCurrentUser());
+    }
+
+    @Test
+    void testTokenPool() {
+        GitlabAPIClient pool = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .addAccessToken("first", System.getenv("TOKEN"))
+                .addAccessToken("second", System.getenv("TOKEN"))
+                .build();
+        assertEquals(CLIENT.getCurrentUser(), pool.getCurrentUser());
+        GitlabProject newProject = pool.withWriteToken("second").newProject("test3").create();
+        assertEquals(newProject.getName(), pool.getProject(newProject.getId()).getName());
+        newProject.delete();
+        assertThrows(IllegalArgumentException.class, () -> pool.withWriteToken("third"));
+    }
+
+    @Test
+    void testRequestCoalescing() {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        GitlabAPIClient client = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .withAccessToken(System.getenv("TOKEN"))
+                .withRequestCoalescing(true)
+                .withMetricsListener(metrics)
+                .build();
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CyclicBarrier start = new CyclicBarrier(callers);
+        List<CompletableFuture<GitlabUser>> futures = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    // every caller asks while the first request is in flight
+                    start.await();
+                } catch (InterruptedException | BrokenBarrierException e) {
+                    throw new IllegalStateException(e);
+                }
+                return client.getCurrentUser();
+            }, executor));
+        }
+        GitlabUser currentUser = CLIENT.getCurrentUser();
+        for (CompletableFuture<GitlabUser> future : futures) {
+            assertEquals(currentUser, future.join());
+        }
+        executor.shutdown();
+        assertNotSame(futures.get(0).join(), futures.get(1).join());
+        assertEquals(1, metrics.getEndpoint("GET", "/user").getCount());
+    }
+
+    @Test
+    void testMetrics() {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        GitlabAPIClient client = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .withAccessToken(System.getenv("TOKEN"))
+                .withMetricsListener(metrics)
+                .build();
+        GitlabProject project = client.newProject("test-metrics").create();
+        client.getProject(project.getId());
+        client.getProject(project.getId());
+        project.delete();
+        InMemoryMetrics.EndpointMetrics get = metrics.getEndpoint("GET", "/projects/{id}");
+        assertEquals(2, get.getCount());
+        assertEquals(2, (long) get.getStatusCounts().get(200));
+        assertTrue(get.getBytesReceived() > 0);
+        assertEquals(2, get.getLatency().getCount());
+        assertTrue(get.getLatency().getPercentileNanos(0.5) >= get.getTimeToFirstByte().getPercentileNanos(0.5));
+        assertEquals(1, metrics.getEndpoint("POST", "/projects").getCount());
+        assertEquals(1, metrics.getEndpoint("DELETE", "/projects/{id}").getCount());
+        assertTrue(metrics.scrape().contains(
+                "gitlab_client_requests_total{method=\"GET\",endpoint=\"/projects/{id}\",status=\"200\"} 2"));
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws IOException {
+        GitlabUser currentUser = CLIENT.getCurrentUser();
+        Path file = Files.createTempFile("api-calls", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.gitlab.api.ApiCall");
+            recording.start();
+            CLIENT.getUser(currentUser.getId());
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals("org.gitlab.api.ApiCall"))
+                    .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals("GET", events.get(0).getString("method"));
+            assertEquals("/users/{id}", events.get(0).getString("endpoint"));
+            assertEquals(200, events.get(0).getInt("status"));
+            assertTrue(events.get(0).getLong("bytesReceived") > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testUserInterning() {
+        GitlabAPIClient client = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .withAccessToken(System.getenv("TOKEN"))
+                .withUserInterning(true)
+                .build();
+        GitlabProject project = client.newProject("test-user-interning").create();
+        project.newIssue("first").create();
+        project.newIssue("second").create();
+        List<GitlabIssue> issues = project.getIssuesQuery().query();
+        List<GitlabIssue> again = project.getIssuesQuery().query();
+        project.delete();
+        assertEquals(2, issues.size());
+        assertSame(issues.get(0).getAuthor(), issues.get(1).getAuthor());
+        assertSame(issues.get(0).getAuthor(), again.get(0).getAuthor());
+    }
 }
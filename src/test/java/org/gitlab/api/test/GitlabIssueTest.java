@@ -6,6 +6,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Random;
 
@@ -139,6 +140,43 @@ public class GitlabIssueTest {
         issue1.delete();
     }
 
+    @Test
+    void testUpdateChangedOnly() {
+        GitlabIssue issue1 = project.newIssue("issue1").create();
+        // nothing changed since create, so no request is sent
+        assertSame(issue1, issue1.update());
+        issue1.withDescription("a new issue").update();
+        assertEquals("a new issue", project.getIssue(issue1.getIid()).getDescription());
+        assertEquals("issue1", project.getIssue(issue1.getIid()).getTitle());
+        issue1.delete();
+    }
+
+    @Test
+    void testBulk() {
+        GitlabIssue issue1 = project.newIssue("issue1").create();
+        GitlabIssue issue2 = project.newIssue("issue2").create();
+        BulkResult result = project.bulkIssues(Arrays.asList(issue1.getIid(), issue2.getIid(), 12345))
+                                   .withConcurrency(2)
+                                   .close();
+        assertEquals(Arrays.asList(issue1.getIid(), issue2.getIid()), result.getSucceeded());
+        assertTrue(result.getFailed().containsKey(12345));
+        assertEquals("closed", project.getIssue(issue1.getIid()).getState());
+        assertEquals("closed", project.getIssue(issue2.getIid()).getState());
+        assertTrue(project.bulkIssues(Arrays.asList(issue1.getIid(), issue2.getIid())).delete().isAllSucceeded());
+    }
+
+    @Test
+    void testAsync() {
+        GitlabIssue issue1 = project.newIssue("issue1").createAsync().join();
+        assertEquals("issue1", project.getIssue(issue1.getIid()).getTitle());
+        issue1.withDescription("a new issue").updateAsync().join();
+        assertEquals("a new issue", project.getIssue(issue1.getIid()).getDescription());
+        issue1.closeAsync().join();
+        assertEquals("closed", issue1.getState());
+        assertEquals(1, project.getIssuesQuery().queryAsync().join().size());
+        issue1.delete();
+    }
+
     @Test
     void testQuery() {
         LocalDate today = LocalDate.now();
@@ -186,4 +224,42 @@ public class GitlabIssueTest {
         issue3.delete();
     }
 
-}
\ No newline at end of file
+    @Test
+    void testSelect() {
+        GitlabIssue issue1 = project.newIssue("issue1").withDescription("new issue1")
+                .withLabels(Arrays.asList("bug")).create();
+
+        List<GitlabIssue> issues = project.getIssuesQuery().select("state", "labels", "updated_at").query();
+        assertEquals(1, issues.size());
+        GitlabIssue selected = issues.get(0);
+        assertEquals(issue1.getIid(), selected.getIid());
+        assertEquals(issue1.getProjectId(), selected.getProjectId());
+        assertEquals("opened", selected.getState());
+        assertEquals(Arrays.asList("bug"), selected.getLabels());
+        assertNotNull(selected.getUpdatedAt());
+        assertNull(selected.getTitle());
+        assertNull(selected.getDescription());
+        assertNull(selected.getAuthor());
+
+        // selected components can still be updated
+        selected.withTitle("renamed").update();
+        assertEquals("renamed", project.getIssue(issue1.getIid()).getTitle());
+        issue1.delete();
+    }
+
+    @Test
+    void testLazyText() {
+        GitlabAPIClient client = new GitlabAPIClient
+                .Builder("https://gitlab.com")
+                .withAccessToken(System.getenv("TOKEN"))
+                .withLazyText(true)
+                .build();
+        String description = "d\u00e9j\u00e0 vu \u2713 \ud83d\ude00";
+        GitlabIssue issue1 = project.newIssue("issue1").withDescription(description).create();
+
+        GitlabIssue lazy = client.getProject(project.getId()).getIssuesQuery().query().get(0);
+        assertEquals(description, lazy.getDescription());
+        assertSame(lazy.getDescription(), lazy.getDescription());
+        issue1.delete();
+    }
+}
@@ -0,0 +1,177 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabIssue;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.MirrorStore;
+import org.gitlab.api.Pagination;
+import org.gitlab.api.SyncEngine;
+import org.gitlab.api.WatermarkStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MirrorStoreTest {
+    private static final String ISSUES = "["
+            + issue(1, "opened", "\"bug\"", 7, "2020-11-03T10:00:00Z") + ","
+            + issue(2, "opened", "", 8, "2020-11-02T10:00:00Z") + ","
+            + issue(3, "closed", "\"bug\",\"feature\"", 7, "2020-11-01T10:00:00Z") + "]";
+
+    private HttpServer server;
+    private GitlabProject project;
+    private Path dir;
+    private volatile String issues = ISSUES;
+    private final List<String> issueQueries = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects", this::respond);
+        server.start();
+        GitlabAPIClient client = new GitlabAPIClient.Builder("http://127.0.0.1:" + server.getAddress().getPort())
+                .withAccessToken("secret")
+                .build();
+        project = client.getProject(1);
+        dir = Files.createTempDirectory("mirror");
+    }
+
+    @AfterEach
+    void cleanup() throws IOException {
+        server.stop(0);
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void syncAndQuery() throws IOException {
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            SyncEngine engine = new SyncEngine(WatermarkStore.inMemory());
+            assertEquals(3, engine.syncIssues(project, store::put));
+            // the second sync only asks for what was updated since the first one
+            engine.syncIssues(project, store::put);
+            assertFalse(issueQueries.get(0).contains("updated_after"), issueQueries.get(0));
+            assertTrue(issueQueries.get(1).contains("updated_after=2020-11-03T09%3A55"), issueQueries.get(1));
+
+            assertEquals(3, store.getIssuesQuery().withProjectId(1).count());
+            assertEquals(2, store.getIssuesQuery().withState("opened").count());
+            assertEquals(2, (int) store.getIssuesQuery().countByLabel().get("bug"));
+            assertEquals(2, (int) store.getIssuesQuery().countByAuthorId().get(7));
+            assertEquals("issue2", store.getIssue(1, 2).getTitle());
+            assertEquals("issue2", store.getIssuesQuery().withPagination(Pagination.of(2, 1)).query().get(0).getTitle());
+            assertEquals(Arrays.asList(1, 3), iids(store.getIssuesQuery().withLabels(Arrays.asList("bug")).query()));
+            assertEquals(Arrays.asList(3), iids(store.getIssuesQuery().withSearch("issue3").query()));
+            assertEquals("issue2", store.getIssuesQuery().withSearch("issue").withPagination(Pagination.of(2, 1))
+                    .stream().findFirst().get().getTitle());
+        }
+    }
+
+    @Test
+    void reopenRebuildsIndexes() throws IOException {
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            new SyncEngine(WatermarkStore.inMemory()).syncIssues(project, store::put);
+            GitlabIssue snapshot = store.getIssue(1, 1);
+            assertTrue(store.removeIssue(1, 2));
+            assertFalse(store.removeIssue(1, 2));
+            store.put(readIssue(issue(1, "closed", "\"feature\"", 7, "2020-11-04T10:00:00Z")));
+            // records are read back as snapshots
+            assertEquals("opened", snapshot.getState());
+        }
+        // a record torn by a crash is dropped
+        Files.write(dir.resolve("mirror.log"), new byte[]{3, 0, 0, 0}, StandardOpenOption.APPEND);
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            assertNull(store.getIssue(1, 2));
+            assertEquals(Arrays.asList(1, 3), iids(store.getIssuesQuery().query()));
+            assertEquals(2, store.getIssuesQuery().withState("closed").count());
+            assertEquals(1, (int) store.getIssuesQuery().countByLabel().get("bug"));
+            assertEquals(2, (int) store.getIssuesQuery().countByLabel().get("feature"));
+            store.put(readIssue(issue(2, "opened", "", 8, "2020-11-05T10:00:00Z")));
+        }
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            assertEquals(Arrays.asList(1, 2, 3), iids(store.getIssuesQuery().query()));
+            assertEquals(1, store.getIssuesQuery().withState("opened").count());
+        }
+    }
+
+    @Test
+    void compaction() throws IOException {
+        Path log = dir.resolve("mirror.log");
+        long synced;
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            new SyncEngine(WatermarkStore.inMemory()).syncIssues(project, store::put);
+            synced = Files.size(log);
+            // the log is compacted once the stale records outnumber the live ones
+            for (int i = 0; i < 1100; i++) {
+                store.put(store.getIssue(1, 1));
+            }
+            assertTrue(Files.size(log) < synced * 100, String.valueOf(Files.size(log)));
+            store.removeIssue(1, 3);
+            store.compact();
+            assertTrue(Files.size(log) < synced, String.valueOf(Files.size(log)));
+            assertEquals(Arrays.asList(1, 2), iids(store.getIssuesQuery().query()));
+        }
+        try (MirrorStore store = MirrorStore.open(dir)) {
+            assertEquals(Arrays.asList(1, 2), iids(store.getIssuesQuery().query()));
+            assertEquals(1, (int) store.getIssuesQuery().countByLabel().get("bug"));
+            assertEquals("issue1", store.getIssue(1, 1).getTitle());
+        }
+    }
+
+    private static List<Integer> iids(List<GitlabIssue> issues) {
+        return issues.stream().map(GitlabIssue::getIid).collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the issue of the given JSON as fetched from Gitlab.
+     */
+    private GitlabIssue readIssue(String json) {
+        issues = "[" + json + "]";
+        return project.getIssuesQuery().query().get(0);
+    }
+
+    private static String issue(int iid, String state, String labels, int authorId, String updatedAt) {
+        return "{\"id\":" + (100 + iid) + ",\"iid\":" + iid + ",\"project_id\":1,\"title\":\"issue" + iid + "\","
+                + "\"description\":\"description of issue" + iid + "\",\"state\":\"" + state + "\","
+                + "\"labels\":[" + labels + "],\"author\":{\"id\":" + authorId + ",\"username\":\"user" + authorId + "\"},"
+                + "\"created_at\":\"2020-11-01T09:00:00Z\",\"updated_at\":\"" + updatedAt + "\"}";
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/issues")) {
+            issueQueries.add(exchange.getRequestURI().getRawQuery());
+            send(exchange, issues);
+        } else {
+            send(exchange, "{\"id\":1,\"name\":\"project\",\"path\":\"project\"}");
+        }
+    }
+
+    private static void send(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
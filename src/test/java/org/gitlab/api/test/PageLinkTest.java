@@ -0,0 +1,72 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageLinkTest {
+    private HttpServer server;
+    private String endpoint;
+    private final AtomicReference<String> nextLink = new AtomicReference<>();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects", exchange -> {
+            boolean first = exchange.getRequestURI().getQuery() == null;
+            byte[] body = (first ? "[{\"id\":1}]" : "[{\"id\":2}]").getBytes(StandardCharsets.UTF_8);
+            if (first && nextLink.get() != null) {
+                exchange.getResponseHeaders().add("Link", "<" + nextLink.get() + ">; rel=\"next\"");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        endpoint = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop(0);
+    }
+
+    @Test
+    void followsLinkUnderEndpoint() {
+        nextLink.set(endpoint + "/api/v4/projects?page=2");
+        GitlabAPIClient client = new GitlabAPIClient.Builder(endpoint).withAccessToken("secret").build();
+        Iterator<GitlabProject> projects = client.getProjectsQuery().iterator();
+        assertEquals(1, projects.next().getId());
+        assertEquals(2, projects.next().getId());
+        assertFalse(projects.hasNext());
+    }
+
+    @Test
+    void refusesLinkToAnotherHost() {
+        GitlabAPIClient client = new GitlabAPIClient.Builder(endpoint).withAccessToken("secret").build();
+        for (String link : new String[]{
+                "http://evil.example/api/v4/projects?page=2",
+                endpoint + ".evil.example/api/v4/projects?page=2",
+                endpoint + "/api/v4.evil/projects?page=2"}) {
+            nextLink.set(link);
+            Iterator<GitlabProject> projects = client.getProjectsQuery().iterator();
+            assertEquals(1, projects.next().getId());
+            assertThrows(GitlabException.class, projects::hasNext, link);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.gitlab.api.test;
 
+import org.gitlab.api.GitlabAPIClient;
 import org.gitlab.api.Pagination;
 import org.junit.jupiter.api.Test;
 
@@ -31,6 +32,33 @@ class PaginationTest {
         assertThrows(IllegalArgumentException.class, () -> Pagination.of(-1, -1));
     }
 
+    @Test
+    void keyset() {
+        Pagination pagination = Pagination.keyset(50);
+        assertTrue(pagination.isKeyset());
+        assertEquals(50, pagination.getPageSize());
+        assertFalse(Pagination.of(1, 50).isKeyset());
+        assertFalse(Pagination.getDefaultPagination().isKeyset());
+        assertThrows(IllegalArgumentException.class, () -> Pagination.keyset(0));
+        assertThrows(IllegalArgumentException.class, () -> Pagination.keyset(101));
+    }
+
+    @Test
+    void keysetUrl() {
+        GitlabAPIClient client = new GitlabAPIClient.Builder("http://127.0.0.1").build();
+        // Gitlab rejects keyset pagination with the default order
+        assertEquals("?pagination=keyset&per_page=50&order_by=id",
+                client.getProjectsQuery().withPagination(Pagination.keyset(50)).toString());
+        assertEquals("?pagination=keyset&per_page=50&order_by=name",
+                client.getProjectsQuery().withPagination(Pagination.keyset(50)).withOrderBy("name").toString());
+        assertEquals("?per_page=50&page=2",
+                client.getProjectsQuery().withPagination(Pagination.of(2, 50)).toString());
+        assertThrows(IllegalArgumentException.class,
+                () -> client.getIssuesQuery().withPagination(Pagination.keyset(50)));
+        assertThrows(IllegalArgumentException.class,
+                () -> client.getMergeRequestsQuery().withPagination(Pagination.keyset(50)));
+    }
+
     @Test
     void getPageNumber() {
         Pagination defaultPagination = Pagination.getDefaultPagination();
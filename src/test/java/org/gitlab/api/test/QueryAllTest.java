@@ -0,0 +1,130 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.GitlabProject;
+import org.gitlab.api.Pagination;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryAllTest {
+    private static final int TOTAL_PAGES = 5;
+    private static final Pattern PAGE = Pattern.compile("(?:^|&)page=(\\d+)");
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private GitlabAPIClient client;
+    private volatile boolean reportTotal = true;
+    private volatile int failingPage;
+    private final List<Integer> requestedPages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects", this::respond);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        client = new GitlabAPIClient.Builder("http://127.0.0.1:" + server.getAddress().getPort())
+                .withAccessToken("secret")
+                .build();
+    }
+
+    @AfterEach
+    void cleanup() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    void fansOutInPageOrder() {
+        List<GitlabProject> projects = client.getProjectsQuery().withPagination(Pagination.of(1, 2)).queryAll(3);
+        assertEquals(Arrays.asList(11, 12, 21, 22, 31, 32, 41, 42, 51, 52), ids(projects));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), requestedPages.stream().sorted().collect(Collectors.toList()));
+        assertTrue(maxInFlight.get() <= 3, String.valueOf(maxInFlight.get()));
+        assertTrue(maxInFlight.get() > 1, "the pages after the first one are fetched concurrently");
+    }
+
+    @Test
+    void startsFromGivenPage() {
+        List<GitlabProject> projects = client.getProjectsQuery().withPagination(Pagination.of(3, 2)).queryAll(8);
+        assertEquals(Arrays.asList(31, 32, 41, 42, 51, 52), ids(projects));
+        assertEquals(Arrays.asList(3, 4, 5), requestedPages.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void sequentialWithoutTotalPages() {
+        reportTotal = false;
+        List<GitlabProject> projects = client.getProjectsQuery().withPagination(Pagination.of(1, 2)).queryAll(3);
+        assertEquals(Arrays.asList(11, 12, 21, 22, 31, 32, 41, 42, 51, 52), ids(projects));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), requestedPages);
+        assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    void failedPage() {
+        failingPage = 2;
+        assertThrows(GitlabException.class,
+                () -> client.getProjectsQuery().withPagination(Pagination.of(1, 2)).queryAll(1));
+        // no more pages are sent once one has failed
+        assertFalse(requestedPages.contains(5), requestedPages.toString());
+        assertThrows(IllegalArgumentException.class, () -> client.getProjectsQuery().queryAll(0));
+    }
+
+    private static List<Integer> ids(List<GitlabProject> projects) {
+        return projects.stream().map(GitlabProject::getId).collect(Collectors.toList());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            String query = exchange.getRequestURI().getQuery();
+            Matcher matcher = PAGE.matcher(query == null ? "" : query);
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            requestedPages.add(page);
+            // the earlier pages answer later, so the results are ordered by the client
+            Thread.sleep((TOTAL_PAGES - page) * 30L);
+            if (page == failingPage) {
+                exchange.sendResponseHeaders(500, -1);
+                return;
+            }
+            byte[] body = ("[{\"id\":" + page + "1},{\"id\":" + page + "2}]").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Page", String.valueOf(page));
+            exchange.getResponseHeaders().add("X-Next-Page", page < TOTAL_PAGES ? String.valueOf(page + 1) : "");
+            if (reportTotal) {
+                exchange.getResponseHeaders().add("X-Total-Pages", String.valueOf(TOTAL_PAGES));
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.gitlab.api.test;
+
+import com.sun.net.httpserver.HttpServer;
+import org.gitlab.api.GitlabAPIClient;
+import org.gitlab.api.GitlabException;
+import org.gitlab.api.RetryPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    @Test
+    void none() {
+        RetryPolicy none = RetryPolicy.none();
+        assertEquals(1, none.getMaxAttempts());
+        assertFalse(none.isNonIdempotentRetries());
+    }
+
+    @Test
+    void of() {
+        RetryPolicy policy = RetryPolicy.of(3, 100, 1000);
+        assertEquals(3, policy.getMaxAttempts());
+        assertEquals(100, policy.getInitialBackoffMillis());
+        assertEquals(1000, policy.getMaxBackoffMillis());
+        assertFalse(policy.isNonIdempotentRetries());
+        assertDoesNotThrow(() -> {
+            RetryPolicy.of(1, 0, 0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(0, 100, 1000));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(3, -1, 1000));
+        assertThrows(IllegalArgumentException.class, () -> RetryPolicy.of(3, 1000, 100));
+    }
+
+    @Test
+    void with() {
+        RetryPolicy policy = RetryPolicy.of(3, 100, 1000)
+                .withRetryBudget(0.5)
+                .withNonIdempotentRetries(true);
+        assertEquals(0.5, policy.getRetryRatio());
+        assertTrue(policy.isNonIdempotentRetries());
+        assertEquals(3, policy.getMaxAttempts());
+        assertThrows(IllegalArgumentException.class, () -> policy.withRetryBudget(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> policy.withRetryBudget(1.5));
+    }
+
+    @Test
+    void retriesGet() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startFlakyServer(requests);
+        try {
+            GitlabAPIClient client = client(server, RetryPolicy.of(3, 0, 0));
+            assertEquals("flaky", client.getProject(1).getName());
+            assertEquals(2, requests.get());
+            assertEquals("flaky", client.getProjectAsync(1).join().getName());
+            assertEquals(4, requests.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void doesNotRetryPost() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startFlakyServer(requests);
+        try {
+            GitlabAPIClient client = client(server, RetryPolicy.of(3, 0, 0));
+            GitlabException e = assertThrows(GitlabException.class, () -> client.newProject("flaky").create());
+            assertTrue(e.getMessage().contains("503"), e.getMessage());
+            assertEquals(1, requests.get());
+            assertEquals("flaky", client.getProject(1).getName());
+            assertEquals(2, requests.get());
+            // unless non-idempotent retries are enabled
+            GitlabAPIClient retrying = client(server, RetryPolicy.of(3, 0, 0).withNonIdempotentRetries(true));
+            assertEquals("flaky", retrying.newProject("flaky").create().getName());
+            assertEquals(4, requests.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void emptyBudgetSurfacesFailure() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = startFlakyServer(requests);
+        try {
+            GitlabAPIClient client = client(server, RetryPolicy.of(3, 0, 0).withRetryBudget(0));
+            // the budget starts with 10 retries, and requests earn none back
+            for (int i = 0; i < 10; i++) {
+                assertEquals("flaky", client.getProject(1).getName());
+            }
+            GitlabException e = assertThrows(GitlabException.class, () -> client.getProject(1));
+            assertTrue(e.getMessage().contains("503"), e.getMessage());
+            assertEquals(21, requests.get());
+            // a request that does not fail still goes through
+            assertEquals("flaky", client.getProject(1).getName());
+            CompletionException async = assertThrows(CompletionException.class,
+                    () -> client.getProjectAsync(1).join());
+            assertTrue(async.getCause().getMessage().contains("503"), async.getCause().getMessage());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static GitlabAPIClient client(HttpServer server, RetryPolicy retryPolicy) {
+        return new GitlabAPIClient.Builder("http://127.0.0.1:" + server.getAddress().getPort())
+                .withAccessToken("secret")
+                .withRetryPolicy(retryPolicy)
+                .build();
+    }
+
+    /**
+     * Starts a server that answers every other request to /projects with
+     * {@code 503 Service Unavailable}, starting with the first one.
+     */
+    private static HttpServer startFlakyServer(AtomicInteger requests) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v4/projects", exchange -> {
+            if (requests.incrementAndGet() % 2 == 1) {
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"id\":1,\"name\":\"flaky\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,64 @@
+package org.gitlab.api.test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.gitlab.api.GitlabCommit;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimestampParsingTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static ZonedDateTime parse(String timestamp) throws IOException {
+        return MAPPER.readValue("{\"id\":\"abc\",\"created_at\":\"" + timestamp + "\"}", GitlabCommit.class)
+                     .getCreatedAt();
+    }
+
+    @Test
+    void sameAsZonedDateTimeParse() throws IOException {
+        String[] timestamps = {
+                "2020-12-14T01:34:24.852Z",
+                "2020-12-14T01:34:24Z",
+                "2020-12-02T04:06:57.000+00:00",
+                "2020-12-02T04:06:57.000-00:00",
+                "2020-12-02T04:06:57.1+05:30",
+                "2020-12-02T04:06:57.123456789-07:00",
+                "2020-12-02T04:06:57+05:45",
+                "2020-12-02T04:06:57+18:00",
+                "2020-12-02T04:06:57.Z",
+                "2020-12-02T04:06:57Z[UTC]",
+                "2020-12-02T04:06:57.000+01:00[Europe/Paris]"
+        };
+        for (String timestamp : timestamps) {
+            ZonedDateTime expected = ZonedDateTime.parse(timestamp);
+            ZonedDateTime actual = parse(timestamp);
+            assertEquals(expected, actual, timestamp);
+            assertEquals(expected.getZone(), actual.getZone(), timestamp);
+        }
+        assertSame(ZoneOffset.UTC, parse("2020-12-02T04:06:57.000+00:00").getZone());
+    }
+
+    @Test
+    void invalid() {
+        String[] timestamps = {
+                "2020-02-30T04:06:57Z",
+                "2020-12-02T24:00:00Z",
+                "2020-12-02T04:06:57+18:30",
+                "2020-12-02T04:06:57.1234567891Z",
+                "2020-12-02T04:06:57+0530",
+                "2020-12-02 04:06:57Z",
+                "yesterday"
+        };
+        for (String timestamp : timestamps) {
+            assertThrows(DateTimeException.class, () -> ZonedDateTime.parse(timestamp), timestamp);
+            assertThrows(IOException.class, () -> parse(timestamp), timestamp);
+        }
+    }
+}
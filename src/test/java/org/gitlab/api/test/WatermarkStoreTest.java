@@ -0,0 +1,45 @@
+package org.gitlab.api.test;
+
+import org.gitlab.api.WatermarkStore;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WatermarkStoreTest {
+
+    @Test
+    void inMemory() {
+        WatermarkStore store = WatermarkStore.inMemory();
+        assertNull(store.get("issues/1"));
+        ZonedDateTime time = ZonedDateTime.of(2020, 11, 1, 12, 30, 0, 0, ZoneOffset.UTC);
+        store.put("issues/1", time);
+        assertEquals(time, store.get("issues/1"));
+        assertNull(store.get("merge_requests/1"));
+    }
+
+    @Test
+    void file() throws IOException {
+        Path dir = Files.createTempDirectory("watermarks");
+        Path file = dir.resolve("sync.properties");
+        try {
+            WatermarkStore store = WatermarkStore.file(file);
+            assertNull(store.get("issues/1"));
+            ZonedDateTime time = ZonedDateTime.of(2020, 11, 1, 12, 30, 0, 123000000, ZoneOffset.ofHours(8));
+            store.put("issues/1", time);
+            store.put("merge_requests/1", time.plusDays(1));
+            // a new store reads what the previous one wrote
+            WatermarkStore reloaded = WatermarkStore.file(file);
+            assertTrue(time.isEqual(reloaded.get("issues/1")));
+            assertTrue(time.plusDays(1).isEqual(reloaded.get("merge_requests/1")));
+        } finally {
+            Files.deleteIfExists(file);
+            Files.deleteIfExists(dir);
+        }
+    }
+}